@@ -0,0 +1,82 @@
+package com.backend.core.cache;
+
+import java.time.Duration;
+import java.util.Objects;
+import java.util.concurrent.atomic.AtomicLong;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+
+/**
+ * Picks the TTL of each key from how it is used.
+ *
+ * <p>Reads and invalidations (puts and evictions) are counted per key. A key read {@code
+ * neutralReadsPerWrite} times per invalidation keeps the template TTL; the TTL grows with the
+ * square root of the ratio above that and shrinks below it, within the configured bounds. Keys
+ * with fewer than {@code minSamples} reads and invalidations keep the template TTL, and keys never
+ * invalidated never get a shorter one.
+ */
+class AdaptiveTtlPolicy {
+  private static final int DEFAULT_BOUND_FACTOR = 4;
+
+  private static class KeyStats {
+    private final AtomicLong reads = new AtomicLong();
+    private final AtomicLong invalidations = new AtomicLong();
+  }
+
+  private final Duration baseTtl;
+  private final Duration minTtl;
+  private final Duration maxTtl;
+  private final double neutralReadsPerWrite;
+  private final long minSamples;
+  private final Cache<String, KeyStats> stats;
+
+  AdaptiveTtlPolicy(Duration baseTtl, AdaptiveTtlSettings settings) {
+    this.baseTtl = baseTtl;
+    this.minTtl =
+        Objects.isNull(settings.getMinTtl())
+            ? baseTtl.dividedBy(DEFAULT_BOUND_FACTOR)
+            : settings.getMinTtl();
+    this.maxTtl =
+        Objects.isNull(settings.getMaxTtl())
+            ? baseTtl.multipliedBy(DEFAULT_BOUND_FACTOR)
+            : settings.getMaxTtl();
+    this.neutralReadsPerWrite = settings.getNeutralReadsPerWrite();
+    this.minSamples = settings.getMinSamples();
+    this.stats =
+        Caffeine.newBuilder()
+            .maximumSize(settings.getMaxTrackedKeys())
+            .expireAfterWrite(settings.getStatsWindow())
+            .build();
+  }
+
+  void recordRead(String key) {
+    stats.get(key, k -> new KeyStats()).reads.incrementAndGet();
+  }
+
+  void recordInvalidation(String key) {
+    stats.get(key, k -> new KeyStats()).invalidations.incrementAndGet();
+  }
+
+  Duration getMaxTtl() {
+    return maxTtl;
+  }
+
+  Duration ttlFor(String key) {
+    KeyStats keyStats = stats.getIfPresent(key);
+    if (Objects.isNull(keyStats)) {
+      return baseTtl;
+    }
+    long reads = keyStats.reads.get();
+    long invalidations = keyStats.invalidations.get();
+    if (reads + invalidations < minSamples) {
+      return baseTtl;
+    }
+    double factor = Math.sqrt((double) reads / (invalidations + 1) / neutralReadsPerWrite);
+    if (invalidations == 0) {
+      factor = Math.max(1, factor);
+    }
+    long ttlMillis = (long) (baseTtl.toMillis() * factor);
+    return Duration.ofMillis(Math.max(minTtl.toMillis(), Math.min(maxTtl.toMillis(), ttlMillis)));
+  }
+}
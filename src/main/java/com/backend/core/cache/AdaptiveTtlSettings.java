@@ -0,0 +1,25 @@
+package com.backend.core.cache;
+
+import java.time.Duration;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@Builder
+@AllArgsConstructor
+@NoArgsConstructor
+public class AdaptiveTtlSettings {
+  // Bounds of the adapted TTL, a quarter and four times the template TTL when not set
+  private Duration minTtl;
+  private Duration maxTtl;
+  // Reads per invalidation at which a key keeps the template TTL
+  @Builder.Default private double neutralReadsPerWrite = 10;
+  // Reads plus invalidations a key needs before its TTL is adapted at all
+  @Builder.Default private long minSamples = 20;
+  // Stats are kept per key and pod, and start over after the window
+  @Builder.Default private Duration statsWindow = Duration.ofHours(1);
+  @Builder.Default private long maxTrackedKeys = 100_000;
+}
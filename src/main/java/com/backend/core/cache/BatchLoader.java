@@ -0,0 +1,94 @@
+package com.backend.core.cache;
+
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.function.Function;
+
+import reactor.core.publisher.Mono;
+import reactor.core.publisher.Sinks;
+
+/**
+ * Per-id DB fallback that batches concurrent calls into bulk queries, DataLoader style.
+ *
+ * <p>Ids requested within {@code window} of each other, up to {@code maxBatchSize}, are loaded with
+ * a single call to the bulk loader, e.g. one {@code WHERE id IN (...)} query, and each caller gets
+ * its own element back. An id requested twice in the same batch is loaded once. Pass it wherever a
+ * per-id fallback is expected:
+ *
+ * <pre>{@code
+ * BatchLoader<UserDto> users = new BatchLoader<>(ids -> repository.findAllByIds(ids), settings);
+ * cache.get(id, users);
+ * }</pre>
+ */
+public class BatchLoader<T> implements Function<String, Mono<T>> {
+  private final Function<Set<String>, Mono<Map<String, T>>> bulkLoader;
+  private final BatchLoaderSettings settings;
+  // Guarded by this, swapped for an empty map whenever a batch is dispatched
+  private Map<String, Sinks.One<T>> batch = new HashMap<>();
+
+  public BatchLoader(
+      Function<Set<String>, Mono<Map<String, T>>> bulkLoader, BatchLoaderSettings settings) {
+    this.bulkLoader = bulkLoader;
+    this.settings = settings;
+  }
+
+  @Override
+  public Mono<T> apply(String id) {
+    return Mono.defer(() -> enqueue(id).asMono());
+  }
+
+  private Sinks.One<T> enqueue(String id) {
+    Map<String, Sinks.One<T>> full = null;
+    Sinks.One<T> request;
+    synchronized (this) {
+      request = batch.get(id);
+      if (Objects.isNull(request)) {
+        request = Sinks.one();
+        batch.put(id, request);
+        if (batch.size() == 1) {
+          Map<String, Sinks.One<T>> opened = batch;
+          Mono.delay(settings.getWindow()).subscribe(tick -> dispatchIfOpen(opened));
+        }
+        if (batch.size() >= settings.getMaxBatchSize()) {
+          full = batch;
+          batch = new HashMap<>();
+        }
+      }
+    }
+    if (Objects.nonNull(full)) {
+      dispatch(full);
+    }
+    return request;
+  }
+
+  private void dispatchIfOpen(Map<String, Sinks.One<T>> opened) {
+    synchronized (this) {
+      // Already dispatched because it filled up before the window was over
+      if (batch != opened) {
+        return;
+      }
+      batch = new HashMap<>();
+    }
+    dispatch(opened);
+  }
+
+  private void dispatch(Map<String, Sinks.One<T>> requests) {
+    Mono.defer(() -> bulkLoader.apply(new LinkedHashSet<>(requests.keySet())))
+        .defaultIfEmpty(Map.of())
+        .subscribe(
+            loaded ->
+                requests.forEach(
+                    (id, request) -> {
+                      T entity = loaded.get(id);
+                      if (Objects.nonNull(entity)) {
+                        request.tryEmitValue(entity);
+                      } else {
+                        request.tryEmitEmpty();
+                      }
+                    }),
+            e -> requests.values().forEach(request -> request.tryEmitError(e)));
+  }
+}
@@ -0,0 +1,19 @@
+package com.backend.core.cache;
+
+import java.time.Duration;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@Builder
+@AllArgsConstructor
+@NoArgsConstructor
+public class BatchLoaderSettings {
+  // How long the first id of a batch waits for others to join it
+  @Builder.Default private Duration window = Duration.ofMillis(5);
+  // A batch is dispatched right away once it holds that many distinct ids
+  @Builder.Default private int maxBatchSize = 100;
+}
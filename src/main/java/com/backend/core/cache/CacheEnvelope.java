@@ -0,0 +1,80 @@
+package com.backend.core.cache;
+
+import java.time.Duration;
+
+import com.fasterxml.jackson.annotation.JsonIgnore;
+import com.fasterxml.jackson.annotation.JsonInclude;
+import com.fasterxml.jackson.annotation.JsonProperty;
+import com.fasterxml.jackson.annotation.JsonPropertyOrder;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * Wrapper stored in Redis around every cached value.
+ *
+ * <p>Carries the metadata needed to decide on an early refresh from the value itself, so a cache
+ * hit costs a single GET. Field names are kept short since they are repeated in every entry; the
+ * marker is always written first so envelopes can be told apart from plain JSON entries written
+ * before it was introduced.
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@JsonPropertyOrder({CacheEnvelope.MARKER, "v", "w", "x", "d", "g", "n"})
+public class CacheEnvelope<T> {
+  public static final String MARKER = "_env";
+  public static final int CURRENT_VERSION = 1;
+
+  @JsonProperty(MARKER)
+  private int version;
+
+  @JsonProperty("v")
+  private T value;
+
+  // Epoch millis of the write
+  @JsonProperty("w")
+  private long writtenAt;
+
+  // Epoch millis after which the value is considered expired
+  @JsonProperty("x")
+  private long expiresAt;
+
+  // How long it took to compute the value, drives how early it gets refreshed
+  @JsonProperty("d")
+  private long computeMillis;
+
+  // Generation of the key prefix at write time, entries of an older generation count as missing
+  @JsonProperty("g")
+  @JsonInclude(JsonInclude.Include.NON_DEFAULT)
+  private long generation;
+
+  // Set when the DB had nothing for the id, the value is then always null
+  @JsonProperty("n")
+  @JsonInclude(JsonInclude.Include.NON_DEFAULT)
+  private boolean tombstone;
+
+  public static <T> CacheEnvelope<T> of(
+      T value, Duration ttl, long computeMillis, long generation) {
+    long now = System.currentTimeMillis();
+    return new CacheEnvelope<>(
+        CURRENT_VERSION, value, now, now + ttl.toMillis(), computeMillis, generation, false);
+  }
+
+  public static <T> CacheEnvelope<T> tombstone(Duration ttl, long generation) {
+    long now = System.currentTimeMillis();
+    return new CacheEnvelope<>(
+        CURRENT_VERSION, null, now, now + ttl.toMillis(), 0, generation, true);
+  }
+
+  /** Wraps a plain value written before envelopes existed, it carries no metadata. */
+  public static <T> CacheEnvelope<T> legacy(T value) {
+    return new CacheEnvelope<>(0, value, 0, 0, 0, 0, false);
+  }
+
+  @JsonIgnore
+  public boolean isLegacy() {
+    return version == 0;
+  }
+}
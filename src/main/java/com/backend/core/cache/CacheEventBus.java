@@ -0,0 +1,95 @@
+package com.backend.core.cache;
+
+import java.time.Duration;
+import java.util.UUID;
+
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.data.redis.connection.ReactiveRedisConnectionFactory;
+import org.springframework.data.redis.core.ReactiveRedisTemplate;
+import org.springframework.data.redis.listener.ChannelTopic;
+import org.springframework.data.redis.listener.ReactiveRedisMessageListenerContainer;
+
+import lombok.extern.slf4j.Slf4j;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import reactor.util.retry.Retry;
+
+/**
+ * Cross-pod event channel on top of Redis pub/sub.
+ *
+ * <p>All subscriptions share a single pub/sub connection. Every message is prefixed with the id of
+ * the publishing instance so listeners only see events raised by other pods.
+ */
+@Slf4j
+public class CacheEventBus implements DisposableBean {
+  private static final char SEPARATOR = '|';
+  private static final Duration RESUBSCRIBE_MIN_BACKOFF = Duration.ofSeconds(1);
+  private static final Duration RESUBSCRIBE_MAX_BACKOFF = Duration.ofSeconds(30);
+
+  private final ReactiveRedisConnectionFactory connectionFactory;
+  private final ReactiveRedisTemplate<String, String> redis;
+  private final String instanceId = UUID.randomUUID().toString();
+  private ReactiveRedisMessageListenerContainer container;
+
+  public CacheEventBus(
+      ReactiveRedisConnectionFactory connectionFactory,
+      ReactiveRedisTemplate<String, String> redis) {
+    this.connectionFactory = connectionFactory;
+    this.redis = redis;
+  }
+
+  public Mono<Long> publish(String channel, String message) {
+    return redis
+        .convertAndSend(channel, instanceId + SEPARATOR + message)
+        .doOnError(e -> log.warn("Cache event publish failed for channel={}", channel, e))
+        .onErrorReturn(0L);
+  }
+
+  /** Emits the payload of every message published on the channel by another instance. */
+  public Flux<String> listen(String channel) {
+    String ownPrefix = instanceId + SEPARATOR;
+    return Flux.defer(() -> getContainer().receive(ChannelTopic.of(channel)))
+        .map(message -> message.getMessage())
+        .filter(payload -> !payload.startsWith(ownPrefix))
+        .map(payload -> payload.substring(payload.indexOf(SEPARATOR) + 1));
+  }
+
+  /** Like {@link #listen}, resubscribing with a backoff whenever the subscription fails. */
+  public Flux<String> listenForever(String channel) {
+    return listenForever(channel, () -> {});
+  }
+
+  /**
+   * Like {@link #listen}, resubscribing with a backoff whenever the subscription fails. Messages
+   * published in between are lost, {@code onLost} runs on every failure so the listener can drop
+   * what they may have changed.
+   */
+  public Flux<String> listenForever(String channel, Runnable onLost) {
+    return listen(channel)
+        .doOnError(e -> onLost.run())
+        .retryWhen(
+            Retry.backoff(Long.MAX_VALUE, RESUBSCRIBE_MIN_BACKOFF)
+                .maxBackoff(RESUBSCRIBE_MAX_BACKOFF)
+                .doBeforeRetry(
+                    signal ->
+                        log.warn(
+                            "Cache event listener for channel={} failed, resubscribing",
+                            channel,
+                            signal.failure())));
+  }
+
+  private synchronized ReactiveRedisMessageListenerContainer getContainer() {
+    // Created lazily so services that never listen do not hold a pub/sub connection
+    if (container == null) {
+      container = new ReactiveRedisMessageListenerContainer(connectionFactory);
+    }
+    return container;
+  }
+
+  @Override
+  public synchronized void destroy() {
+    if (container != null) {
+      container.destroy();
+    }
+  }
+}
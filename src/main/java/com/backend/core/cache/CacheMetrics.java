@@ -0,0 +1,178 @@
+package com.backend.core.cache;
+
+import java.util.Objects;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Supplier;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import io.micrometer.core.instrument.composite.CompositeMeterRegistry;
+import reactor.core.publisher.Mono;
+
+/**
+ * Meters of one cache template, tagged with its key prefix.
+ *
+ * <p>All meters are resolved once up front, recording is then a plain increment with no tag lookup
+ * on the request path. Without a registry the meters come from an empty composite registry and
+ * are no-ops.
+ */
+class CacheMetrics {
+  private static final String CACHE_TAG = "cache";
+
+  private final MeterRegistry meters;
+  private final String keyPrefix;
+  private final Counter nearHits;
+  private final Counter replicaHits;
+  private final Counter redisHits;
+  private final Counter negativeHits;
+  private final Counter bloomRejections;
+  private final Counter misses;
+  private final Counter locksAcquired;
+  private final Counter locksLost;
+  private final Counter earlyRefreshes;
+  private final Counter duplicateRefreshes;
+  private final Counter shedRefreshes;
+  private final Counter refreshErrors;
+  private final Counter redisErrors;
+  private final Timer dbFallback;
+  private final Timer serialize;
+  private final Timer deserialize;
+  private final DistributionSummary writtenBytes;
+  private final DistributionSummary readBytes;
+
+  CacheMetrics(String keyPrefix, MeterRegistry registry) {
+    this.meters = Objects.isNull(registry) ? new CompositeMeterRegistry() : registry;
+    this.keyPrefix = keyPrefix;
+    this.nearHits = gets(meters, keyPrefix, "hit", "near");
+    this.replicaHits = gets(meters, keyPrefix, "hit", "replica");
+    this.redisHits = gets(meters, keyPrefix, "hit", "redis");
+    this.negativeHits = gets(meters, keyPrefix, "negative", "redis");
+    this.bloomRejections = gets(meters, keyPrefix, "negative", "bloom");
+    this.misses = gets(meters, keyPrefix, "miss", "redis");
+    this.locksAcquired = lock(meters, keyPrefix, "acquired");
+    this.locksLost = lock(meters, keyPrefix, "lost");
+    this.earlyRefreshes =
+        Counter.builder("cache.refresh.early").tag(CACHE_TAG, keyPrefix).register(meters);
+    this.duplicateRefreshes = refreshSkipped(meters, keyPrefix, "duplicate");
+    this.shedRefreshes = refreshSkipped(meters, keyPrefix, "shed");
+    this.refreshErrors =
+        Counter.builder("cache.refresh.errors").tag(CACHE_TAG, keyPrefix).register(meters);
+    this.redisErrors =
+        Counter.builder("cache.redis.errors").tag(CACHE_TAG, keyPrefix).register(meters);
+    this.dbFallback = Timer.builder("cache.db.fallback").tag(CACHE_TAG, keyPrefix).register(meters);
+    this.serialize = Timer.builder("cache.serialize").tag(CACHE_TAG, keyPrefix).register(meters);
+    this.deserialize =
+        Timer.builder("cache.deserialize").tag(CACHE_TAG, keyPrefix).register(meters);
+    this.writtenBytes = payload(meters, keyPrefix, "write");
+    this.readBytes = payload(meters, keyPrefix, "read");
+  }
+
+  private static Counter gets(MeterRegistry meters, String keyPrefix, String result, String tier) {
+    return Counter.builder("cache.gets")
+        .tag(CACHE_TAG, keyPrefix)
+        .tag("result", result)
+        .tag("tier", tier)
+        .register(meters);
+  }
+
+  private static Counter lock(MeterRegistry meters, String keyPrefix, String outcome) {
+    return Counter.builder("cache.lock")
+        .tag(CACHE_TAG, keyPrefix)
+        .tag("outcome", outcome)
+        .register(meters);
+  }
+
+  private static Counter refreshSkipped(MeterRegistry meters, String keyPrefix, String reason) {
+    return Counter.builder("cache.refresh.skipped")
+        .tag(CACHE_TAG, keyPrefix)
+        .tag("reason", reason)
+        .register(meters);
+  }
+
+  private static DistributionSummary payload(
+      MeterRegistry meters, String keyPrefix, String operation) {
+    return DistributionSummary.builder("cache.payload.size")
+        .baseUnit("bytes")
+        .tag(CACHE_TAG, keyPrefix)
+        .tag("operation", operation)
+        .register(meters);
+  }
+
+  void nearHit() {
+    nearHits.increment();
+  }
+
+  void replicaHit() {
+    replicaHits.increment();
+  }
+
+  void redisHit() {
+    redisHits.increment();
+  }
+
+  void negativeHit() {
+    negativeHits.increment();
+  }
+
+  void bloomRejection() {
+    bloomRejections.increment();
+  }
+
+  void miss() {
+    misses.increment();
+  }
+
+  void lockAcquired() {
+    locksAcquired.increment();
+  }
+
+  void lockLost() {
+    locksLost.increment();
+  }
+
+  void earlyRefresh() {
+    earlyRefreshes.increment();
+  }
+
+  void refreshDeduplicated() {
+    duplicateRefreshes.increment();
+  }
+
+  void refreshShed() {
+    shedRefreshes.increment();
+  }
+
+  void refreshError() {
+    refreshErrors.increment();
+  }
+
+  void gauge(String name, Supplier<Number> value) {
+    Gauge.builder(name, value).tag(CACHE_TAG, keyPrefix).register(meters);
+  }
+
+  void redisError() {
+    redisErrors.increment();
+  }
+
+  void serialized(long startNanos, int bytes) {
+    serialize.record(System.nanoTime() - startNanos, TimeUnit.NANOSECONDS);
+    writtenBytes.record(bytes);
+  }
+
+  void deserialized(long startNanos, int bytes) {
+    deserialize.record(System.nanoTime() - startNanos, TimeUnit.NANOSECONDS);
+    readBytes.record(bytes);
+  }
+
+  <R> Mono<R> timeDbFallback(Mono<R> fallback) {
+    return Mono.defer(
+        () -> {
+          long start = System.nanoTime();
+          return fallback.doFinally(
+              signal -> dbFallback.record(System.nanoTime() - start, TimeUnit.NANOSECONDS));
+        });
+  }
+}
@@ -0,0 +1,78 @@
+package com.backend.core.cache;
+
+import java.util.Objects;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Supplier;
+
+import com.backend.core.exceptions.ServiceUnavailableException;
+import com.backend.core.resilience.CircuitBreaker;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+
+import reactor.core.publisher.Mono;
+
+/**
+ * Keeps a cache template usable while Redis is slow or down.
+ *
+ * <p>Redis calls go through a circuit breaker so they fail fast once Redis keeps erroring. Failed
+ * reads are then answered from a bounded copy of the last known values, or from the DB with a cap
+ * on concurrent queries so the DB does not take the whole load at once.
+ */
+class DegradedMode<T> {
+  private static final String SATURATED_MESSAGE =
+      "Cache is unavailable and DB fallback is saturated";
+
+  private final CircuitBreaker circuitBreaker;
+  private final Cache<String, T> staleCopies;
+  private final int maxConcurrentDbFallbacks;
+  private final AtomicInteger dbFallbacksInFlight = new AtomicInteger();
+
+  DegradedMode(String keyPrefix, DegradedModeSettings settings) {
+    this.circuitBreaker = new CircuitBreaker("cache:" + keyPrefix, settings.getCircuitBreaker());
+    this.staleCopies =
+        Caffeine.newBuilder()
+            .maximumSize(settings.getStaleMaxSize())
+            .expireAfterWrite(settings.getStaleTtl())
+            .build();
+    this.maxConcurrentDbFallbacks = settings.getMaxConcurrentDbFallbacks();
+  }
+
+  <R> Mono<R> protect(Mono<R> redisCall) {
+    return circuitBreaker.protect(redisCall);
+  }
+
+  void remember(String key, T value) {
+    staleCopies.put(key, value);
+  }
+
+  void forget(String key) {
+    staleCopies.invalidate(key);
+  }
+
+  void forgetAll() {
+    staleCopies.invalidateAll();
+  }
+
+  T getStale(String key) {
+    return staleCopies.getIfPresent(key);
+  }
+
+  Mono<T> serve(String key, Supplier<Mono<T>> dbFallback) {
+    T stale = getStale(key);
+    if (Objects.nonNull(stale)) {
+      return Mono.just(stale);
+    }
+    return limitDbFallback(dbFallback);
+  }
+
+  <R> Mono<R> limitDbFallback(Supplier<Mono<R>> dbFallback) {
+    return Mono.defer(
+        () -> {
+          if (dbFallbacksInFlight.incrementAndGet() > maxConcurrentDbFallbacks) {
+            dbFallbacksInFlight.decrementAndGet();
+            return Mono.error(new ServiceUnavailableException(SATURATED_MESSAGE));
+          }
+          return dbFallback.get().doFinally(signal -> dbFallbacksInFlight.decrementAndGet());
+        });
+  }
+}
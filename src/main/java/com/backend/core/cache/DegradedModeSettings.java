@@ -0,0 +1,23 @@
+package com.backend.core.cache;
+
+import java.time.Duration;
+
+import com.backend.core.resilience.CircuitBreakerSettings;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@Builder
+@AllArgsConstructor
+@NoArgsConstructor
+public class DegradedModeSettings {
+  @Builder.Default private CircuitBreakerSettings circuitBreaker = new CircuitBreakerSettings();
+  // Last known values served while Redis is unavailable
+  @Builder.Default private long staleMaxSize = 10_000;
+  @Builder.Default private Duration staleTtl = Duration.ofMinutes(10);
+  // DB fallbacks allowed at once while Redis is unavailable, the rest fail fast
+  @Builder.Default private int maxConcurrentDbFallbacks = 32;
+}
@@ -1,25 +1,50 @@
 package com.backend.core.cache;
 
 import java.time.Duration;
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
 
 import org.apache.commons.lang3.StringUtils;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.boot.actuate.endpoint.annotation.Endpoint;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnClass;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 import org.springframework.context.annotation.Primary;
 import org.springframework.data.redis.connection.ReactiveRedisConnectionFactory;
 import org.springframework.data.redis.connection.RedisClusterConfiguration;
+import org.springframework.data.redis.connection.RedisConfiguration;
 import org.springframework.data.redis.connection.RedisPassword;
 import org.springframework.data.redis.connection.RedisStandaloneConfiguration;
 import org.springframework.data.redis.connection.lettuce.LettuceClientConfiguration;
 import org.springframework.data.redis.connection.lettuce.LettuceConnectionFactory;
+import org.springframework.data.redis.connection.lettuce.RedisCredentialsProviderFactory;
 import org.springframework.data.redis.core.ReactiveRedisTemplate;
 import org.springframework.data.redis.serializer.RedisSerializationContext;
+import org.springframework.data.redis.serializer.RedisSerializer;
 import org.springframework.data.redis.serializer.StringRedisSerializer;
 
+import com.backend.core.cache.hotkey.HotKeyRegistry;
+import com.backend.core.cache.hotkey.HotKeysEndpoint;
+import com.backend.core.cache.settings.CacheClientSettings;
 import com.backend.core.cache.settings.CacheConnectionSettings;
 import com.backend.core.cache.settings.CacheConnectionSettingsProvider;
 import com.backend.core.exceptions.ConfigurationException;
 
+import io.lettuce.core.ClientOptions;
+import io.lettuce.core.ReadFrom;
+import io.lettuce.core.RedisCredentialsProvider;
+import io.lettuce.core.SocketOptions;
+import io.lettuce.core.TimeoutOptions;
+import io.lettuce.core.cluster.ClusterClientOptions;
+import io.lettuce.core.cluster.ClusterTopologyRefreshOptions;
+import io.lettuce.core.metrics.MicrometerCommandLatencyRecorder;
+import io.lettuce.core.metrics.MicrometerOptions;
+import io.lettuce.core.protocol.RedisCommand;
+import io.lettuce.core.resource.ClientResources;
+import io.micrometer.core.instrument.MeterRegistry;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 
@@ -28,10 +53,31 @@ import lombok.extern.slf4j.Slf4j;
 @RequiredArgsConstructor
 public class ReactiveCacheFactory {
   private final CacheConnectionSettingsProvider cacheConnectionSettingsProvider;
+  private final CacheClientSettings cacheClientSettings;
+
+  /**
+   * Event loops shared by every Redis connection of the service. Publishes per-command Lettuce
+   * latencies when the service has a meter registry.
+   */
+  @Bean(destroyMethod = "shutdown")
+  public ClientResources cacheClientResources(ObjectProvider<MeterRegistry> meterRegistry) {
+    int ioThreads =
+        Objects.isNull(cacheClientSettings.getIoThreads())
+            ? Runtime.getRuntime().availableProcessors()
+            : cacheClientSettings.getIoThreads();
+    ClientResources.Builder builder =
+        ClientResources.builder().ioThreadPoolSize(ioThreads).computationThreadPoolSize(ioThreads);
+    meterRegistry.ifAvailable(
+        registry ->
+            builder.commandLatencyRecorder(
+                new MicrometerCommandLatencyRecorder(registry, MicrometerOptions.create())));
+    return builder.build();
+  }
 
   @Bean
   @Primary
-  public ReactiveRedisConnectionFactory reactiveRedisConnectionFactory() {
+  public ReactiveRedisConnectionFactory reactiveRedisConnectionFactory(
+      ClientResources cacheClientResources) {
     CacheConnectionSettings settings = cacheConnectionSettingsProvider.provide();
     validate(settings);
 
@@ -39,9 +85,26 @@ public class ReactiveCacheFactory {
     log.info("Cache connection — Port: {}", settings.getPort());
     log.info("Cache connection — TLS: {}", settings.isTlsEnabled());
     log.info("Cache connection — Cluster mode: {}", settings.isClusterMode());
+    log.info("Cache connection — Read from: {}", cacheClientSettings.getReadFrom());
 
     LettuceClientConfiguration.LettuceClientConfigurationBuilder clientConfigBuilder =
-        LettuceClientConfiguration.builder().commandTimeout(Duration.ofMillis(500));
+        LettuceClientConfiguration.builder()
+            .commandTimeout(cacheClientSettings.getCommandTimeout())
+            .clientResources(cacheClientResources)
+            .clientOptions(clientOptions(settings.isClusterMode()))
+            // Resolved on every (re)connect, so rotated credentials apply without a restart
+            .redisCredentialsProviderFactory(
+                new RedisCredentialsProviderFactory() {
+                  @Override
+                  public RedisCredentialsProvider createCredentialsProvider(
+                      RedisConfiguration redisConfiguration) {
+                    return cacheConnectionSettingsProvider.credentialsProvider();
+                  }
+                });
+
+    if (StringUtils.isNotBlank(cacheClientSettings.getReadFrom())) {
+      clientConfigBuilder.readFrom(ReadFrom.valueOf(cacheClientSettings.getReadFrom()));
+    }
 
     if (settings.isTlsEnabled()) {
       clientConfigBuilder.useSsl().disablePeerVerification();
@@ -75,6 +138,91 @@ public class ReactiveCacheFactory {
     return new ReactiveRedisTemplate<>(connectionFactory, context);
   }
 
+  /** Raw byte values, used by {@link ReactiveCacheTemplate} which does its own encoding. */
+  @Bean
+  public ReactiveRedisTemplate<String, byte[]> reactiveBytesRedisTemplate(
+      ReactiveRedisConnectionFactory connectionFactory) {
+    return byteArrayTemplate(connectionFactory);
+  }
+
+  public static ReactiveRedisTemplate<String, byte[]> byteArrayTemplate(
+      ReactiveRedisConnectionFactory connectionFactory) {
+    RedisSerializationContext<String, byte[]> context =
+        RedisSerializationContext.<String, byte[]>newSerializationContext(
+                RedisSerializer.byteArray())
+            .key(StringRedisSerializer.UTF_8)
+            .hashKey(StringRedisSerializer.UTF_8)
+            .build();
+
+    return new ReactiveRedisTemplate<>(connectionFactory, context);
+  }
+
+  @Bean
+  public CacheEventBus cacheEventBus(
+      ReactiveRedisConnectionFactory connectionFactory,
+      ReactiveRedisTemplate<String, String> reactiveRedisTemplate) {
+    return new CacheEventBus(connectionFactory, reactiveRedisTemplate);
+  }
+
+  /** Templates built with hot key tracking register here to be listed by the actuator. */
+  @Bean
+  public HotKeyRegistry hotKeyRegistry() {
+    return new HotKeyRegistry();
+  }
+
+  /** Only when the service brings the actuator, this library does not depend on it at runtime. */
+  @Configuration
+  @ConditionalOnClass(Endpoint.class)
+  static class HotKeysEndpointConfiguration {
+    @Bean
+    public HotKeysEndpoint hotKeysEndpoint(HotKeyRegistry hotKeyRegistry) {
+      return new HotKeysEndpoint(hotKeyRegistry);
+    }
+  }
+
+  private ClientOptions clientOptions(boolean clusterMode) {
+    SocketOptions socketOptions =
+        SocketOptions.builder()
+            .connectTimeout(cacheClientSettings.getConnectTimeout())
+            .keepAlive(
+                SocketOptions.KeepAliveOptions.builder()
+                    .enable(cacheClientSettings.isKeepAlive())
+                    .idle(cacheClientSettings.getKeepAliveIdle())
+                    .build())
+            .build();
+    // A custom timeout source replaces the connection's command timeout, it applies it itself
+    TimeoutOptions timeoutOptions =
+        cacheClientSettings.getCommandTimeouts().isEmpty()
+            ? TimeoutOptions.enabled(cacheClientSettings.getCommandTimeout())
+            : TimeoutOptions.builder()
+                .timeoutCommands(true)
+                .timeoutSource(
+                    new CommandTypeTimeoutSource(
+                        cacheClientSettings.getCommandTimeout(),
+                        cacheClientSettings.getCommandTimeouts()))
+                .build();
+
+    if (!clusterMode) {
+      return ClientOptions.builder()
+          .socketOptions(socketOptions)
+          .timeoutOptions(timeoutOptions)
+          .build();
+    }
+
+    // Without refresh the client keeps talking to the old primary after a failover
+    ClusterTopologyRefreshOptions.Builder topologyRefresh =
+        ClusterTopologyRefreshOptions.builder()
+            .enablePeriodicRefresh(cacheClientSettings.getTopologyRefreshPeriod());
+    if (cacheClientSettings.isAdaptiveTopologyRefresh()) {
+      topologyRefresh.enableAllAdaptiveRefreshTriggers();
+    }
+    return ClusterClientOptions.builder()
+        .socketOptions(socketOptions)
+        .timeoutOptions(timeoutOptions)
+        .topologyRefreshOptions(topologyRefresh.build())
+        .build();
+  }
+
   private void validate(CacheConnectionSettings settings) {
     if (StringUtils.isBlank(settings.getHost())) {
       throw new ConfigurationException("Cache connection [host] is not defined");
@@ -83,4 +231,30 @@ public class ReactiveCacheFactory {
       throw new ConfigurationException("Cache connection [port] is not defined");
     }
   }
+
+  /** Applies the per-command overrides, other commands get the default command timeout. */
+  private static class CommandTypeTimeoutSource extends TimeoutOptions.TimeoutSource {
+    // Lettuce never times out a command given 0 or less, so there must always be a value
+    private final long defaultTimeoutMillis;
+    private final Map<String, Long> timeoutsMillis;
+
+    CommandTypeTimeoutSource(Duration defaultTimeout, Map<String, Duration> commandTimeouts) {
+      this.defaultTimeoutMillis = defaultTimeout.toMillis();
+      this.timeoutsMillis =
+          commandTimeouts.entrySet().stream()
+              .collect(
+                  Collectors.toUnmodifiableMap(
+                      entry -> entry.getKey().toUpperCase(), entry -> entry.getValue().toMillis()));
+    }
+
+    @Override
+    public long getTimeout(RedisCommand<?, ?, ?> command) {
+      return timeoutsMillis.getOrDefault(command.getType().toString(), defaultTimeoutMillis);
+    }
+
+    @Override
+    public TimeUnit getTimeUnit() {
+      return TimeUnit.MILLISECONDS;
+    }
+  }
 }
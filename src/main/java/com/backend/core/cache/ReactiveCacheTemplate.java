@@ -1,65 +1,543 @@
 package com.backend.core.cache;
 
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
 import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Optional;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
 import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.AtomicBoolean;
 import java.util.function.Function;
+import java.util.function.Supplier;
 
+import org.springframework.data.redis.connection.lettuce.LettuceConnectionFactory;
 import org.springframework.data.redis.core.ReactiveRedisTemplate;
+import org.springframework.data.redis.core.script.RedisScript;
 
+import com.backend.core.cache.bloom.BloomFilter;
+import com.backend.core.cache.bloom.BloomFilterSettings;
+import com.backend.core.cache.codec.CacheCodec;
+import com.backend.core.cache.codec.CacheValueSerializer;
+import com.backend.core.cache.hotkey.HotKeyDetector;
+import com.backend.core.cache.hotkey.HotKeyRegistry;
+import com.backend.core.cache.hotkey.HotKeySettings;
+import com.backend.core.cache.near.NearCache;
+import com.backend.core.cache.near.NearCacheSettings;
+import com.backend.core.exceptions.CircuitBreakerOpenException;
 import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.JavaType;
 import com.fasterxml.jackson.databind.ObjectMapper;
 
-import lombok.AllArgsConstructor;
+import io.lettuce.core.cluster.SlotHash;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.Builder;
 import lombok.extern.slf4j.Slf4j;
+import reactor.core.Disposable;
+import reactor.core.Disposables;
+import reactor.core.publisher.Flux;
 import reactor.core.publisher.Mono;
+import reactor.core.publisher.Sinks;
+import reactor.core.scheduler.Schedulers;
 
 @Slf4j
-@AllArgsConstructor
-public class ReactiveCacheTemplate<T> {
+public class ReactiveCacheTemplate<T> implements AutoCloseable {
   private static final Duration LOCK_TTL = Duration.ofSeconds(5);
   private static final Duration RETRY_DELAY = Duration.ofMillis(100);
+  // Longest wait on another pod's load before loading from the DB too, e.g. when it crashed
+  private static final Duration MAX_LOAD_WAIT = Duration.ofSeconds(1);
+  private static final String LOADED_CHANNEL_PREFIX = "cache:loaded:";
+  private static final String GENERATION_PREFIX = "cache:generation:";
+  private static final String TAG_KEY_PREFIX = "cache:tag:";
+  // Safety net for missed bus messages, and the only way to learn about bumps without a bus
+  private static final Duration GENERATION_SYNC_INTERVAL = Duration.ofSeconds(5);
+  // Compare-and-delete, so a loader whose lock already expired cannot delete the next owner's lock
+  private static final RedisScript<Long> RELEASE_LOCK_SCRIPT =
+      RedisScript.of(
+          "if redis.call('get', KEYS[1]) == ARGV[1] then "
+              + "return redis.call('del', KEYS[1]) else return 0 end",
+          Long.class);
   private static final double JITTER_FACTOR = 0.15;
   private static final double EARLY_REFRESH_FRACTION = 0.1;
+  // XFetch beta, values above 1.0 favour earlier refreshes
+  private static final double EARLY_REFRESH_BETA = 1.0;
+  private static final byte[] ENVELOPE_PREFIX =
+      ("{\"" + CacheEnvelope.MARKER + "\":").getBytes(StandardCharsets.UTF_8);
+  // Bigger payloads are decoded on the parallel scheduler instead of the Lettuce event loop
+  private static final int OFFLOAD_DECODE_THRESHOLD = 64 * 1024;
 
-  private final ReactiveRedisTemplate<String, String> redis;
-  private final ObjectMapper mapper;
+  private final ReactiveRedisTemplate<String, byte[]> redis;
+  private final CacheValueSerializer serializer;
   private final String keyPrefix;
   private final Duration ttl;
-  private final TypeReference<T> type;
+  // Null when negative caching is off
+  private final Duration negativeTtl;
+  private final JavaType valueType;
+  private final JavaType envelopeType;
+  private final NearCache<T> nearCache;
+  private final DegradedMode<T> degradedMode;
+  private final CacheMetrics metrics;
+  private final CacheEventBus eventBus;
+  // Null when puts are written through
+  private final WriteBehind<T> writeBehind;
+  private final RefreshAheadExecutor refreshAhead;
+  // Null when every key lives for the template TTL
+  private final AdaptiveTtlPolicy adaptiveTtl;
+  // Null when ids are not checked against a Bloom filter
+  private final BloomFilter bloomFilter;
+  // Null when hot keys are not tracked
+  private final HotKeyDetector<T> hotKeys;
+  // Null when the detector is not listed
+  private final HotKeyRegistry hotKeyRegistry;
+  // Listeners and pollers running for the lifetime of the template, released by close()
+  private final Disposable.Composite subscriptions = Disposables.composite();
+  // One DB load per key and pod, concurrent misses subscribe to the load already in flight
+  private final ConcurrentMap<String, Mono<T>> inFlightLoads = new ConcurrentHashMap<>();
+  // Lock losers waiting for the lock holder of another pod to announce the load is done
+  private final ConcurrentMap<String, Sinks.Empty<Void>> loadWaiters = new ConcurrentHashMap<>();
+  // Multi-key commands must not span hash slots on a cluster
+  private final boolean clusterMode;
+  // Null when entries are not tagged
+  private final Function<T, Collection<String>> tags;
+  // Holds the generation counter of the key prefix, doubles as its pub/sub channel
+  private final String generationKey;
+  // Last generation seen, entries written under an older one count as missing
+  private volatile long generation;
+  // Set once the generation is followed, templates never read or written do not follow it
+  private final AtomicBoolean generationSynced = new AtomicBoolean();
+
+  /**
+   * Kept for callers built against the String template, values are still written through a byte[]
+   * template on the same connection factory.
+   */
+  public ReactiveCacheTemplate(
+      ReactiveRedisTemplate<String, String> redis,
+      ObjectMapper mapper,
+      String keyPrefix,
+      Duration ttl,
+      TypeReference<T> type) {
+    this(
+        ReactiveCacheTemplate.<T>builder()
+            .redis(ReactiveCacheFactory.byteArrayTemplate(redis.getConnectionFactory()))
+            .mapper(mapper)
+            .keyPrefix(keyPrefix)
+            .ttl(ttl)
+            .type(type));
+  }
+
+  // Builds from the builder's options, so the legacy constructor only names what it sets
+  private ReactiveCacheTemplate(ReactiveCacheTemplateBuilder<T> builder) {
+    this(
+        builder.redis,
+        builder.mapper,
+        builder.keyPrefix,
+        builder.ttl,
+        builder.type,
+        builder.nearCache,
+        builder.eventBus,
+        builder.codec,
+        builder.compressionThreshold,
+        builder.negativeTtl,
+        builder.degradedMode,
+        builder.meterRegistry,
+        builder.tags,
+        builder.writeBehind,
+        builder.hotKeys,
+        builder.hotKeyRegistry,
+        builder.refreshAhead,
+        builder.bloomFilter,
+        builder.adaptiveTtl);
+  }
+
+  /**
+   * Optional tiers are switched on through the builder, e.g. passing {@code nearCache} settings
+   * enables the in-process L1 tier. Without an {@code eventBus} the L1 tier is only invalidated
+   * locally and relies on its short TTL for changes made by other pods. Values are encoded with
+   * {@code codec} (JSON by default) and LZ4 compressed from {@code compressionThreshold} bytes.
+   * Setting {@code negativeTtl} caches ids the DB fallback had nothing for, as tombstones living
+   * that long. {@code degradedMode} puts Redis behind a circuit breaker and serves stale copies
+   * while it is open. Meters are registered in {@code meterRegistry} tagged with the key prefix.
+   * {@code tags} derives the tags of an entity on every write, so {@link #evictTag} can drop all
+   * entries sharing one, e.g. every user of a store. With {@code writeBehind} settings puts are
+   * buffered and written in batches, see {@link #put}. {@code hotKeys} settings count reads per
+   * key and keep short-lived in-process replicas of the hottest ones, listed per key prefix in
+   * {@code hotKeyRegistry}. {@code refreshAhead} bounds the background early refreshes, which run
+   * with its defaults otherwise. {@code bloomFilter} settings reject ids that were never written
+   * before any I/O, see {@link #seedBloomFilter}. With {@code adaptiveTtl} settings keys read
+   * much more often than they change live longer than {@code ttl}, volatile ones shorter.
+   */
+  @Builder
+  private ReactiveCacheTemplate(
+      ReactiveRedisTemplate<String, byte[]> redis,
+      ObjectMapper mapper,
+      String keyPrefix,
+      Duration ttl,
+      TypeReference<T> type,
+      NearCacheSettings nearCache,
+      CacheEventBus eventBus,
+      CacheCodec codec,
+      Integer compressionThreshold,
+      Duration negativeTtl,
+      DegradedModeSettings degradedMode,
+      MeterRegistry meterRegistry,
+      Function<T, Collection<String>> tags,
+      WriteBehindSettings writeBehind,
+      HotKeySettings hotKeys,
+      HotKeyRegistry hotKeyRegistry,
+      RefreshAheadSettings refreshAhead,
+      BloomFilterSettings bloomFilter,
+      AdaptiveTtlSettings adaptiveTtl) {
+    this.redis = redis;
+    this.serializer =
+        new CacheValueSerializer(
+            mapper,
+            codec,
+            Objects.isNull(compressionThreshold)
+                ? CacheValueSerializer.DEFAULT_COMPRESSION_THRESHOLD
+                : compressionThreshold);
+    this.keyPrefix = keyPrefix;
+    this.ttl = ttl;
+    this.negativeTtl = negativeTtl;
+    this.valueType = mapper.constructType(type);
+    this.envelopeType =
+        mapper.getTypeFactory().constructParametricType(CacheEnvelope.class, valueType);
+    this.nearCache =
+        Objects.isNull(nearCache) ? null : new NearCache<>(keyPrefix, nearCache, eventBus);
+    this.degradedMode =
+        Objects.isNull(degradedMode) ? null : new DegradedMode<>(keyPrefix, degradedMode);
+    this.metrics = new CacheMetrics(keyPrefix, meterRegistry);
+    this.refreshAhead =
+        new RefreshAheadExecutor(
+            Objects.isNull(refreshAhead) ? new RefreshAheadSettings() : refreshAhead, metrics);
+    this.eventBus = eventBus;
+    this.clusterMode =
+        redis.getConnectionFactory() instanceof LettuceConnectionFactory lettuceConnectionFactory
+            && lettuceConnectionFactory.isClusterAware();
+    this.tags = tags;
+    this.generationKey = GENERATION_PREFIX + keyPrefix;
+    this.writeBehind =
+        Objects.isNull(writeBehind)
+            ? null
+            : new WriteBehind<>(
+                writeBehind,
+                write -> store(write.id(), write.entity(), write.computeMillis()),
+                key -> redis.delete(key).then(Mono.defer(() -> dropLocal(key))));
+    this.adaptiveTtl = Objects.isNull(adaptiveTtl) ? null : new AdaptiveTtlPolicy(ttl, adaptiveTtl);
+    this.bloomFilter =
+        Objects.isNull(bloomFilter)
+            ? null
+            : new BloomFilter(keyPrefix, bloomFilter, redis, eventBus);
+    this.hotKeys = Objects.isNull(hotKeys) ? null : new HotKeyDetector<>(hotKeys);
+    this.hotKeyRegistry = hotKeyRegistry;
+    if (Objects.nonNull(this.hotKeys) && Objects.nonNull(hotKeyRegistry)) {
+      hotKeyRegistry.register(keyPrefix, this.hotKeys);
+    }
+    if (Objects.nonNull(eventBus)) {
+      listenForLoads();
+    }
+  }
 
   /*
    Layer 1 — Jitter (the jitteredTtl method): Prevents many different keys from expiring at the same time.
    Layer 2 — Locking (the loadWithLock method): When a key does expire, only one request goes to the database.
    Layer 3 — Probabilistic early refresh (the maybeEarlyRefresh / shouldEarlyRefresh methods):
        Refreshes the cache before it expires, so the stampede never even gets a chance to happen.
+       The expiry and the cost of the last recompute travel inside the CacheEnvelope, so the
+       decision is made from the single GET.
+   Tombstones: ids the DB does not know are remembered for negativeTtl, so probing random ids
+       does not reach the DB on every request.
+   Generations: entries carry the generation they were written under, invalidateAll bumps it and
+       older entries are read as misses until they expire.
   */
   public Mono<T> get(String id, Function<String, Mono<T>> dbFallback) {
+    if (isRejected(id)) {
+      return Mono.empty();
+    }
     String key = getKey(id);
-    return redis
-        .opsForValue()
-        .get(key)
+    recordRead(key);
+    T replica = readReplica(key);
+    if (Objects.nonNull(replica)) {
+      return Mono.just(replica);
+    }
+    if (Objects.nonNull(nearCache)) {
+      T local = nearCache.getIfPresent(key);
+      if (Objects.nonNull(local)) {
+        metrics.nearHit();
+        return Mono.just(local);
+      }
+    }
+    T buffered = getBuffered(key);
+    if (Objects.nonNull(buffered)) {
+      return Mono.just(buffered);
+    }
+    Function<String, Mono<T>> loader =
+        fallbackId ->
+            metrics.timeDbFallback(dbFallback.apply(fallbackId)).onErrorMap(LoadFailure::new);
+    return protect(redis.opsForValue().get(key))
         .flatMap(this::deserialize)
-        .flatMap(entity -> maybeEarlyRefresh(id, key, entity, dbFallback))
-        .switchIfEmpty(Mono.defer(() -> loadWithLock(id, key, dbFallback)))
-        .doOnError(e -> log.warn("Cache read failed for key={}, falling back to DB", key, e))
-        .onErrorResume(e -> dbFallback.apply(id));
+        .filter(this::isCurrent)
+        .flatMap(
+            envelope -> {
+              if (envelope.isTombstone()) {
+                metrics.negativeHit();
+                return Mono.just(Optional.<T>empty());
+              }
+              metrics.redisHit();
+              keepLocal(key, envelope.getValue());
+              return maybeEarlyRefresh(id, key, envelope, loader).map(Optional::of);
+            })
+        .switchIfEmpty(
+            Mono.defer(
+                () -> {
+                  metrics.miss();
+                  return loadCoalesced(id, key, loader).map(Optional::of);
+                }))
+        .flatMap(Mono::justOrEmpty)
+        .doOnError(
+            ReactiveCacheTemplate::isCacheFailure,
+            e -> logFailure("Cache read failed for key={}, falling back to DB", key, e))
+        .onErrorResume(
+            ReactiveCacheTemplate::isCacheFailure, e -> fallback(key, () -> loader.apply(id)))
+        .onErrorMap(LoadFailure.class, Throwable::getCause);
+  }
+
+  // Failures of the DB fallback itself reach the caller as they are, retrying them would only
+  // call the DB a second time
+  private static final class LoadFailure extends RuntimeException {
+    private LoadFailure(Throwable cause) {
+      super(cause.getMessage(), cause, false, false);
+    }
+  }
+
+  private static boolean isCacheFailure(Throwable e) {
+    return !(e instanceof LoadFailure);
+  }
+
+  private Mono<T> fallback(String key, Supplier<Mono<T>> dbFallback) {
+    return Objects.isNull(degradedMode) ? dbFallback.get() : degradedMode.serve(key, dbFallback);
+  }
+
+  /**
+   * Bulk variant of {@link #get}: all Redis lookups go out as one MGET per hash slot and only the
+   * misses are handed to {@code dbFallback}, in a single call. The returned map follows the order
+   * of {@code ids}; ids that exist neither in the cache nor in the DB are left out.
+   */
+  public Mono<Map<String, T>> getMany(
+      Collection<String> ids, Function<Set<String>, Mono<Map<String, T>>> bulkDbFallback) {
+    Set<String> uniqueIds = new LinkedHashSet<>(ids);
+    if (uniqueIds.isEmpty()) {
+      return Mono.just(Map.of());
+    }
+    Function<Set<String>, Mono<Map<String, T>>> dbFallback =
+        missingIds ->
+            metrics.timeDbFallback(bulkDbFallback.apply(missingIds)).onErrorMap(LoadFailure::new);
+
+    Map<String, T> found = new HashMap<>();
+    List<String> remoteKeys = new ArrayList<>();
+    for (String id : uniqueIds) {
+      if (isRejected(id)) {
+        continue;
+      }
+      String key = getKey(id);
+      recordRead(key);
+      T replica = readReplica(key);
+      if (Objects.nonNull(replica)) {
+        found.put(id, replica);
+        continue;
+      }
+      T local = Objects.isNull(nearCache) ? null : nearCache.getIfPresent(key);
+      if (Objects.nonNull(local)) {
+        metrics.nearHit();
+        found.put(id, local);
+        continue;
+      }
+      T buffered = getBuffered(key);
+      if (Objects.nonNull(buffered)) {
+        found.put(id, buffered);
+      } else {
+        remoteKeys.add(key);
+      }
+    }
+
+    return protect(multiGet(remoteKeys))
+        .flatMap(
+            values -> {
+              Set<String> missingIds = new LinkedHashSet<>();
+              for (String key : remoteKeys) {
+                String id = key.substring(keyPrefix.length());
+                CacheEnvelope<T> envelope = values.get(key);
+                if (Objects.isNull(envelope)) {
+                  metrics.miss();
+                  missingIds.add(id);
+                } else if (envelope.isTombstone()) {
+                  metrics.negativeHit();
+                } else {
+                  metrics.redisHit();
+                  keepLocal(key, envelope.getValue());
+                  found.put(id, envelope.getValue());
+                }
+              }
+              return loadMissing(missingIds, dbFallback);
+            })
+        .doOnError(
+            ReactiveCacheTemplate::isCacheFailure,
+            e -> logFailure("Cache bulk read failed for prefix={}, using fallback", keyPrefix, e))
+        .onErrorResume(
+            ReactiveCacheTemplate::isCacheFailure,
+            e -> {
+              found.clear();
+              return fallbackMany(uniqueIds, dbFallback);
+            })
+        .onErrorMap(LoadFailure.class, Throwable::getCause)
+        .map(
+            loaded -> {
+              Map<String, T> ordered = new LinkedHashMap<>();
+              for (String id : uniqueIds) {
+                T entity = found.containsKey(id) ? found.get(id) : loaded.get(id);
+                if (Objects.nonNull(entity)) {
+                  ordered.put(id, entity);
+                }
+              }
+              return ordered;
+            });
+  }
+
+  private Mono<Map<String, T>> fallbackMany(
+      Set<String> ids, Function<Set<String>, Mono<Map<String, T>>> dbFallback) {
+    if (Objects.isNull(degradedMode)) {
+      return dbFallback.apply(ids).defaultIfEmpty(Map.of());
+    }
+    Map<String, T> stale = new HashMap<>();
+    Set<String> remainingIds = new LinkedHashSet<>();
+    for (String id : ids) {
+      T entity = degradedMode.getStale(getKey(id));
+      if (Objects.nonNull(entity)) {
+        stale.put(id, entity);
+      } else {
+        remainingIds.add(id);
+      }
+    }
+    if (remainingIds.isEmpty()) {
+      return Mono.just(stale);
+    }
+    return degradedMode
+        .limitDbFallback(() -> dbFallback.apply(remainingIds).defaultIfEmpty(Map.of()))
+        .map(
+            loaded -> {
+              Map<String, T> merged = new HashMap<>(loaded);
+              merged.putAll(stale);
+              return merged;
+            });
+  }
+
+  private Mono<Map<String, T>> loadMissing(
+      Set<String> missingIds, Function<Set<String>, Mono<Map<String, T>>> dbFallback) {
+    if (missingIds.isEmpty()) {
+      return Mono.just(Map.of());
+    }
+    return dbFallback
+        .apply(missingIds)
+        .defaultIfEmpty(Map.of())
+        .flatMap(
+            loaded -> {
+              Set<String> absentIds = new LinkedHashSet<>(missingIds);
+              absentIds.removeAll(loaded.keySet());
+              // Not a put: loading a miss says nothing about how often the key changes
+              return writeMany(loaded)
+                  .then(Flux.fromIterable(absentIds).flatMap(this::storeTombstone).then())
+                  .thenReturn(loaded);
+            });
+  }
+
+  private Mono<Map<String, CacheEnvelope<T>>> multiGet(List<String> keys) {
+    if (keys.isEmpty()) {
+      return Mono.just(Map.of());
+    }
+    return Flux.fromIterable(groupBySlot(keys))
+        .flatMap(
+            slotKeys ->
+                redis
+                    .opsForValue()
+                    .multiGet(slotKeys)
+                    .flatMapMany(
+                        values -> {
+                          List<Mono<Map.Entry<String, CacheEnvelope<T>>>> entries =
+                              new ArrayList<>();
+                          for (int i = 0; i < slotKeys.size(); i++) {
+                            String key = slotKeys.get(i);
+                            byte[] bytes = values.get(i);
+                            if (Objects.nonNull(bytes) && bytes.length > 0) {
+                              entries.add(
+                                  deserialize(bytes)
+                                      .filter(this::isCurrent)
+                                      .map(envelope -> Map.entry(key, envelope)));
+                            }
+                          }
+                          return Flux.concat(entries);
+                        }))
+        .collectMap(Map.Entry::getKey, Map.Entry::getValue);
   }
 
   private Mono<T> maybeEarlyRefresh(
+      String id, String key, CacheEnvelope<T> envelope, Function<String, Mono<T>> dbFallback) {
+    T entity = envelope.getValue();
+    if (envelope.isLegacy()) {
+      return maybeEarlyRefreshLegacy(id, key, entity, dbFallback);
+    }
+    if (shouldEarlyRefresh(envelope)) {
+      metrics.earlyRefresh();
+      refreshAhead.submit(key, () -> refresh(id, dbFallback));
+    }
+    return Mono.just(entity);
+  }
+
+  private boolean shouldEarlyRefresh(CacheEnvelope<T> envelope) {
+    // XFetch: -ln(random) is 0 most of the time and occasionally large, so the further a request
+    // is from the expiry (in units of recompute time) the less likely it is to refresh. Values that
+    // are slow to compute get refreshed earlier, while only a handful of requests ever win.
+    double gapMs =
+        envelope.getComputeMillis()
+            * EARLY_REFRESH_BETA
+            * -Math.log(ThreadLocalRandom.current().nextDouble());
+    return System.currentTimeMillis() + gapMs >= envelope.getExpiresAt();
+  }
+
+  private Mono<Boolean> refresh(String id, Function<String, Mono<T>> dbFallback) {
+    return Mono.defer(
+        () -> {
+          long start = System.nanoTime();
+          return dbFallback.apply(id).flatMap(fresh -> write(id, fresh, elapsedMillis(start)));
+        });
+  }
+
+  // Entries written before the envelope existed do not know their expiry, ask Redis for it
+  private Mono<T> maybeEarlyRefreshLegacy(
       String id, String key, T entity, Function<String, Mono<T>> dbFallback) {
     return redis
         .getExpire(key)
         .flatMap(
             remainingTtl -> {
-              if (shouldEarlyRefresh(remainingTtl)) {
-                dbFallback.apply(id).flatMap(fresh -> put(id, fresh)).subscribe();
+              if (shouldEarlyRefreshLegacy(remainingTtl)) {
+                metrics.earlyRefresh();
+                refreshAhead.submit(key, () -> refresh(id, dbFallback));
               }
               return Mono.just(entity);
             })
         .defaultIfEmpty(entity);
   }
 
-  private boolean shouldEarlyRefresh(Duration remainingTtl) {
+  private boolean shouldEarlyRefreshLegacy(Duration remainingTtl) {
     // If TTL is 60 seconds, then the early refresh window is the last 6 seconds
     long earlyRefreshWindowMs = (long) (ttl.toMillis() * EARLY_REFRESH_FRACTION);
     long remainingMs = remainingTtl.toMillis();
@@ -74,48 +552,514 @@ public class ReactiveCacheTemplate<T> {
     return ThreadLocalRandom.current().nextDouble() < probability;
   }
 
+  private Mono<T> loadCoalesced(String id, String key, Function<String, Mono<T>> dbFallback) {
+    // cache() replays the single load to every subscriber, the entry is dropped once it terminates
+    return inFlightLoads.computeIfAbsent(
+        key,
+        k -> loadWithLock(id, k, dbFallback).doFinally(signal -> inFlightLoads.remove(k)).cache());
+  }
+
   private Mono<T> loadWithLock(String id, String key, Function<String, Mono<T>> dbFallback) {
     String lockKey = key + ":lock";
+    byte[] lockToken = UUID.randomUUID().toString().getBytes(StandardCharsets.UTF_8);
     return redis
         .opsForValue()
-        .setIfAbsent(lockKey, "1", LOCK_TTL)
+        .setIfAbsent(lockKey, lockToken, LOCK_TTL)
         .flatMap(
             acquired -> {
               if (Boolean.TRUE.equals(acquired)) {
+                metrics.lockAcquired();
+                long start = System.nanoTime();
                 return dbFallback
                     .apply(id)
-                    .flatMap(entity -> put(id, entity).thenReturn(entity))
-                    .doFinally(signal -> redis.delete(lockKey).subscribe());
+                    .flatMap(entity -> store(id, entity, elapsedMillis(start)).thenReturn(entity))
+                    .switchIfEmpty(Mono.defer(() -> storeTombstone(id).then(Mono.<T>empty())))
+                    .doFinally(
+                        signal ->
+                            releaseLock(lockKey, lockToken).then(publishLoaded(id)).subscribe());
               }
-              return Mono.delay(RETRY_DELAY)
-                  .then(redis.opsForValue().get(key))
-                  .flatMap(this::deserialize)
-                  .switchIfEmpty(Mono.defer(() -> dbFallback.apply(id)));
+              metrics.lockLost();
+              // A tombstone written by the lock holder means the DB has nothing either
+              return awaitLoaded(key, lockKey)
+                  .map(envelope -> Optional.ofNullable(envelope.getValue()))
+                  .switchIfEmpty(Mono.defer(() -> dbFallback.apply(id).map(Optional::of)))
+                  .flatMap(Mono::justOrEmpty);
             });
   }
 
+  private Mono<CacheEnvelope<T>> awaitLoaded(String key, String lockKey) {
+    if (Objects.isNull(eventBus)) {
+      return Mono.delay(RETRY_DELAY).then(readRemote(key));
+    }
+    // Registered before re-reading, so a load finishing in between is either seen by the read or
+    // wakes the waiter
+    Sinks.Empty<Void> loaded = loadWaiters.computeIfAbsent(key, k -> Sinks.empty());
+    long deadline = System.currentTimeMillis() + MAX_LOAD_WAIT.toMillis();
+    Mono<Void> wake = loaded.asMono().timeout(RETRY_DELAY, Mono.empty());
+    return readRemote(key)
+        .switchIfEmpty(Mono.defer(() -> pollLoaded(key, lockKey, wake, deadline)))
+        .doFinally(signal -> loadWaiters.remove(key, loaded));
+  }
+
+  // Waits for the loaded message only briefly before re-reading, so a lost message costs at most
+  // RETRY_DELAY. Only the first round waits for it, the sink stays completed once it arrived, so
+  // later rounds sleep RETRY_DELAY. Gives up once the lock is gone or the deadline passed
+  private Mono<CacheEnvelope<T>> pollLoaded(
+      String key, String lockKey, Mono<Void> wake, long deadline) {
+    return wake.then(readRemote(key))
+        .switchIfEmpty(
+            Mono.defer(
+                () ->
+                    System.currentTimeMillis() >= deadline
+                        ? Mono.empty()
+                        : redis
+                            .hasKey(lockKey)
+                            .filter(Boolean.TRUE::equals)
+                            .flatMap(
+                                held ->
+                                    pollLoaded(
+                                        key, lockKey, Mono.delay(RETRY_DELAY).then(), deadline))));
+  }
+
+  private Mono<CacheEnvelope<T>> readRemote(String key) {
+    return redis.opsForValue().get(key).flatMap(this::deserialize).filter(this::isCurrent);
+  }
+
+  private Mono<Void> releaseLock(String lockKey, byte[] lockToken) {
+    return redis
+        .execute(RELEASE_LOCK_SCRIPT, List.of(lockKey), List.of(lockToken))
+        .doOnError(e -> log.warn("Cache lock release failed for key={}", lockKey, e))
+        .onErrorResume(e -> Mono.empty())
+        .then();
+  }
+
+  private Mono<Void> publishLoaded(String id) {
+    // Sent even when the load failed, waiters then re-read and fall back to the DB themselves
+    return Objects.isNull(eventBus)
+        ? Mono.empty()
+        : eventBus.publish(LOADED_CHANNEL_PREFIX + keyPrefix, id).then();
+  }
+
+  private void listenForLoads() {
+    subscriptions.add(
+        eventBus
+            .listenForever(LOADED_CHANNEL_PREFIX + keyPrefix)
+            .subscribe(
+                id -> {
+                  Sinks.Empty<Void> loaded = loadWaiters.remove(getKey(id));
+                  if (Objects.nonNull(loaded)) {
+                    loaded.tryEmitEmpty();
+                  }
+                }));
+  }
+
+  /**
+   * Also replaces a tombstone, so an entity created after a miss is visible right away. In
+   * write-behind mode the value is only buffered: this pod reads it right away, other pods once the
+   * buffer is flushed, and the returned true means the put was accepted.
+   */
   public Mono<Boolean> put(String id, T entity) {
+    recordInvalidation(getKey(id));
+    return write(id, entity, 0);
+  }
+
+  /** Writes out the buffered puts right away, e.g. before shutdown. */
+  public Mono<Void> flush() {
+    return Objects.isNull(writeBehind) ? Mono.empty() : writeBehind.flush();
+  }
+
+  /**
+   * Stops the background listeners and pollers of the template, for templates that do not live as
+   * long as the application. Buffered writes are not flushed, call {@link #flush} first.
+   */
+  @Override
+  public void close() {
+    subscriptions.dispose();
+    if (Objects.nonNull(nearCache)) {
+      nearCache.close();
+    }
+    if (Objects.nonNull(writeBehind)) {
+      writeBehind.close();
+    }
+    if (Objects.nonNull(bloomFilter)) {
+      bloomFilter.close();
+    }
+    if (Objects.nonNull(hotKeys) && Objects.nonNull(hotKeyRegistry)) {
+      hotKeyRegistry.unregister(keyPrefix, hotKeys);
+    }
+  }
+
+  private Mono<Boolean> write(String id, T entity, long computeMillis) {
+    if (Objects.isNull(writeBehind)) {
+      return store(id, entity, computeMillis);
+    }
+    // Added right away, otherwise reads of a new id would be rejected until the buffer is flushed
+    return addToBloomFilter(id)
+        .then(
+            Mono.fromCallable(
+                () -> {
+                  writeBehind.buffer(
+                      getKey(id),
+                      new WriteBehind.PendingWrite<>(id, entity, computeMillis, tagsOf(entity)));
+                  return true;
+                }));
+  }
+
+  private Mono<Boolean> storeTombstone(String id) {
+    if (Objects.isNull(negativeTtl)) {
+      return Mono.just(false);
+    }
     String key = getKey(id);
-    return serialize(entity)
-        .flatMap(json -> redis.opsForValue().set(key, json, jitteredTtl()))
-        .doOnError(e -> log.warn("Cache put failed for key={}", key, e))
+    return serialize(CacheEnvelope.tombstone(negativeTtl, currentGeneration()))
+        .flatMap(bytes -> protect(redis.opsForValue().set(key, bytes, negativeTtl)))
+        .doOnNext(stored -> forgetStale(key))
+        .doOnError(e -> logFailure("Cache tombstone put failed for key={}", key, e))
         .onErrorResume(e -> Mono.just(false));
   }
 
+  private Mono<Boolean> store(String id, T entity, long computeMillis) {
+    String key = getKey(id);
+    Duration entryTtl = jitteredTtl(key);
+    return serialize(CacheEnvelope.of(entity, entryTtl, computeMillis, currentGeneration()))
+        .flatMap(bytes -> protect(redis.opsForValue().set(key, bytes, entryTtl)))
+        .flatMap(
+            stored ->
+                tag(key, entity)
+                    .then(addToBloomFilter(id))
+                    .then(replaceLocal(key, entity))
+                    .thenReturn(stored))
+        .doOnError(e -> logFailure("Cache put failed for key={}", key, e))
+        .onErrorResume(e -> Mono.just(false));
+  }
+
+  // Tag sets outlive every entry they point to, members of expired entries are harmless to delete
+  private Mono<Void> tag(String key, T entity) {
+    Collection<String> entityTags = tagsOf(entity);
+    if (Objects.isNull(entityTags) || entityTags.isEmpty()) {
+      return Mono.empty();
+    }
+    byte[] member = key.getBytes(StandardCharsets.UTF_8);
+    Duration longestTtl = Objects.isNull(adaptiveTtl) ? ttl : adaptiveTtl.getMaxTtl();
+    Duration tagTtl = Duration.ofMillis((long) (longestTtl.toMillis() * (1 + JITTER_FACTOR)) + 1);
+    return Flux.fromIterable(entityTags)
+        .map(this::getTagKey)
+        .flatMap(
+            tagKey ->
+                protect(redis.opsForSet().add(tagKey, member).then(redis.expire(tagKey, tagTtl))))
+        .then();
+  }
+
+  private Collection<String> tagsOf(T entity) {
+    return Objects.isNull(tags) ? null : tags.apply(entity);
+  }
+
+  /**
+   * Writes all entries without waiting for each reply, so Lettuce pipelines the SET commands over
+   * the shared connection. Emits true only if every entry was stored.
+   */
+  public Mono<Boolean> putMany(Map<String, T> entities) {
+    if (entities.isEmpty()) {
+      return Mono.just(true);
+    }
+    return Flux.fromIterable(entities.entrySet())
+        .flatMap(entry -> put(entry.getKey(), entry.getValue()))
+        .all(Boolean.TRUE::equals);
+  }
+
+  private Mono<Boolean> writeMany(Map<String, T> entities) {
+    if (entities.isEmpty()) {
+      return Mono.just(true);
+    }
+    return Flux.fromIterable(entities.entrySet())
+        .flatMap(entry -> write(entry.getKey(), entry.getValue(), 0))
+        .all(Boolean.TRUE::equals);
+  }
+
   public Mono<Void> evict(String id) {
     String key = getKey(id);
-    return redis
-        .delete(key)
+    return Mono.fromRunnable(
+            () -> {
+              recordInvalidation(key);
+              cancelPendingWrite(key);
+            })
+        .then(Mono.defer(() -> addToBloomFilter(id)))
+        .then(redis.delete(key))
         .doOnError(e -> log.error("Cache evict failed for key={}", key, e))
+        .then(Mono.defer(() -> dropLocal(key)));
+  }
+
+  /** Deletes the keys with one DEL per hash slot. */
+  public Mono<Void> evictMany(Collection<String> ids) {
+    List<String> distinctIds = ids.stream().distinct().toList();
+    List<String> keys = distinctIds.stream().map(this::getKey).toList();
+    return Flux.fromIterable(distinctIds)
+        .flatMap(this::addToBloomFilter)
+        .then(deleteKeys(keys))
+        .doOnError(e -> log.error("Cache bulk evict failed for prefix={}", keyPrefix, e));
+  }
+
+  /**
+   * Drops the ids from the in-process tiers of this pod only: near cache, hot-key replicas, stale
+   * copies and buffered writes. Meant for callers that learn about a change on every pod, Redis is
+   * left to {@link #evictMany} on one of them.
+   */
+  public void evictLocally(Collection<String> ids) {
+    ids.stream()
+        .distinct()
+        .map(this::getKey)
+        .forEach(
+            key -> {
+              recordInvalidation(key);
+              cancelPendingWrite(key);
+              forgetStale(key);
+              if (Objects.nonNull(hotKeys)) {
+                hotKeys.drop(key);
+              }
+              if (Objects.nonNull(nearCache)) {
+                nearCache.drop(key);
+              }
+            });
+  }
+
+  /**
+   * Evicts every entry written with {@code tag}: one SMEMBERS, then one DEL per hash slot. Only the
+   * members that were evicted are removed from the tag, entries tagged meanwhile stay in it.
+   * Buffered writes carrying the tag are cancelled first.
+   */
+  public Mono<Void> evictTag(String tag) {
+    String tagKey = getTagKey(tag);
+    return Mono.fromRunnable(
+            () -> {
+              if (Objects.nonNull(writeBehind)) {
+                writeBehind.cancelTagged(tag);
+              }
+            })
+        .thenMany(redis.opsForSet().members(tagKey))
+        .collectList()
+        .flatMap(
+            members -> {
+              if (members.isEmpty()) {
+                return Mono.empty();
+              }
+              List<String> keys =
+                  members.stream()
+                      .map(member -> new String(member, StandardCharsets.UTF_8))
+                      .toList();
+              return deleteKeys(keys).then(redis.opsForSet().remove(tagKey, members.toArray()));
+            })
+        .doOnError(e -> log.error("Cache tag evict failed for tag={}", tagKey, e))
+        .then();
+  }
+
+  /**
+   * Invalidates every entry of the key prefix with a single INCR of its generation, without
+   * touching the entries themselves. They are read as misses from then on and expire on their own.
+   */
+  public Mono<Void> invalidateAll() {
+    return Mono.fromRunnable(this::currentGeneration)
+        .then(redis.opsForValue().increment(generationKey))
+        .doOnNext(this::advanceGeneration)
+        .flatMap(
+            bumped ->
+                Objects.isNull(eventBus)
+                    ? Mono.empty()
+                    : eventBus.publish(generationKey, String.valueOf(bumped)))
+        .doOnError(e -> log.error("Cache invalidation failed for prefix={}", keyPrefix, e))
         .then();
   }
 
-  private Duration jitteredTtl() {
+  private Mono<Void> deleteKeys(List<String> keys) {
+    if (keys.isEmpty()) {
+      return Mono.empty();
+    }
+    return Mono.fromRunnable(
+            () ->
+                keys.forEach(
+                    key -> {
+                      recordInvalidation(key);
+                      cancelPendingWrite(key);
+                    }))
+        .thenMany(Flux.fromIterable(groupBySlot(keys)))
+        .flatMap(slotKeys -> redis.delete(slotKeys.toArray(String[]::new)))
+        .thenMany(Flux.fromIterable(keys).flatMap(this::dropLocal))
+        .then();
+  }
+
+  private void recordRead(String key) {
+    if (Objects.nonNull(adaptiveTtl)) {
+      adaptiveTtl.recordRead(key);
+    }
+  }
+
+  private void recordInvalidation(String key) {
+    if (Objects.nonNull(adaptiveTtl)) {
+      adaptiveTtl.recordInvalidation(key);
+    }
+  }
+
+  private boolean isRejected(String id) {
+    if (Objects.isNull(bloomFilter) || bloomFilter.mightContain(id)) {
+      return false;
+    }
+    metrics.bloomRejection();
+    return true;
+  }
+
+  private Mono<Void> addToBloomFilter(String id) {
+    return Objects.isNull(bloomFilter) ? Mono.empty() : bloomFilter.add(id);
+  }
+
+  /**
+   * Adds existing ids to the Bloom filter in bulk, typically all ids of the table at startup. Ids
+   * written through {@link #put}, loaded from the DB or evicted are added on their own, so rows
+   * created behind the cache's back are let through once their change is evicted, e.g. by the
+   * Postgres invalidation listener. No id is rejected before a seed completed once.
+   */
+  public Mono<Void> seedBloomFilter(Flux<String> ids) {
+    return Objects.isNull(bloomFilter) ? Mono.empty() : bloomFilter.seed(ids);
+  }
+
+  // Counts the read, then answers it from the in-process replica when the key is hot
+  private T readReplica(String key) {
+    if (Objects.isNull(hotKeys)) {
+      return null;
+    }
+    hotKeys.recordRead(key);
+    T replica = hotKeys.getReplica(key);
+    if (Objects.nonNull(replica)) {
+      metrics.replicaHit();
+    }
+    return replica;
+  }
+
+  // Puts still waiting in the write-behind buffer, so the writing pod reads its own writes
+  private T getBuffered(String key) {
+    return Objects.isNull(writeBehind) ? null : writeBehind.getIfPresent(key);
+  }
+
+  private void cancelPendingWrite(String key) {
+    if (Objects.nonNull(writeBehind)) {
+      writeBehind.cancel(key);
+    }
+  }
+
+  // Starts following the generation on first use, announced by other pods and polled as fallback
+  private long currentGeneration() {
+    if (generationSynced.compareAndSet(false, true)) {
+      syncGeneration();
+    }
+    return generation;
+  }
+
+  private void syncGeneration() {
+    Flux<Long> announced =
+        Objects.isNull(eventBus)
+            ? Flux.empty()
+            : eventBus.listenForever(generationKey).map(Long::parseLong);
+    // Reads never fail, they log and skip, so the poll only stops with the template
+    Flux<Long> polled =
+        Flux.interval(Duration.ZERO, GENERATION_SYNC_INTERVAL)
+            .onBackpressureDrop()
+            .concatMap(tick -> readGeneration());
+    subscriptions.add(Flux.merge(announced, polled).subscribe(this::advanceGeneration));
+  }
+
+  private Mono<Long> readGeneration() {
+    return protect(redis.opsForValue().get(generationKey))
+        .map(bytes -> Long.parseLong(new String(bytes, StandardCharsets.UTF_8)))
+        .onErrorResume(
+            e -> {
+              log.debug("Cache generation read failed for prefix={}", keyPrefix, e);
+              return Mono.empty();
+            });
+  }
+
+  private synchronized void advanceGeneration(long newGeneration) {
+    if (newGeneration <= generation) {
+      return;
+    }
+    generation = newGeneration;
+    if (Objects.nonNull(nearCache)) {
+      nearCache.clear();
+    }
+    if (Objects.nonNull(hotKeys)) {
+      hotKeys.clear();
+    }
+    if (Objects.nonNull(degradedMode)) {
+      degradedMode.forgetAll();
+    }
+  }
+
+  private boolean isCurrent(CacheEnvelope<T> envelope) {
+    return envelope.getGeneration() >= currentGeneration();
+  }
+
+  private Collection<List<String>> groupBySlot(List<String> keys) {
+    if (!clusterMode) {
+      return List.of(keys);
+    }
+    Map<Integer, List<String>> keysBySlot = new HashMap<>();
+    for (String key : keys) {
+      keysBySlot.computeIfAbsent(SlotHash.getSlot(key), slot -> new ArrayList<>()).add(key);
+    }
+    return keysBySlot.values();
+  }
+
+  // Evictions bypass the circuit breaker, losing one would leave a stale entry after recovery
+  private <R> Mono<R> protect(Mono<R> redisCall) {
+    return Objects.isNull(degradedMode) ? redisCall : degradedMode.protect(redisCall);
+  }
+
+  private void logFailure(String message, String subject, Throwable e) {
+    // An open circuit is logged once by the breaker, not on every rejected call
+    if (!(e instanceof CircuitBreakerOpenException)) {
+      metrics.redisError();
+      log.warn(message, subject, e);
+    }
+  }
+
+  private void keepLocal(String key, T entity) {
+    if (Objects.nonNull(nearCache)) {
+      nearCache.put(key, entity);
+    }
+    if (Objects.nonNull(hotKeys)) {
+      hotKeys.replicate(key, entity);
+    }
+    if (Objects.nonNull(degradedMode)) {
+      degradedMode.remember(key, entity);
+    }
+  }
+
+  private Mono<Void> replaceLocal(String key, T entity) {
+    if (Objects.nonNull(hotKeys)) {
+      hotKeys.replicate(key, entity);
+    }
+    if (Objects.nonNull(degradedMode)) {
+      degradedMode.remember(key, entity);
+    }
+    return Objects.isNull(nearCache) ? Mono.empty() : nearCache.update(key, entity);
+  }
+
+  private void forgetStale(String key) {
+    if (Objects.nonNull(degradedMode)) {
+      degradedMode.forget(key);
+    }
+  }
+
+  private Mono<Void> dropLocal(String key) {
+    forgetStale(key);
+    if (Objects.nonNull(hotKeys)) {
+      hotKeys.drop(key);
+    }
+    return Objects.isNull(nearCache) ? Mono.empty() : nearCache.invalidate(key);
+  }
+
+  private Duration jitteredTtl(String key) {
     // The TTL varying by up to ±15%
     // ThreadLocalRandom.current().nextDouble() = random decimal between 0.0 and 1.0
     // Random value (0 to 1) | After `2 * x - 1` (result is -1 to +1) jitter should go both
     // direction
-    long baseMs = ttl.toMillis();
+    long baseMs = Objects.isNull(adaptiveTtl) ? ttl.toMillis() : adaptiveTtl.ttlFor(key).toMillis();
     long jitter =
         (long) (baseMs * JITTER_FACTOR * (2 * ThreadLocalRandom.current().nextDouble() - 1));
     return Duration.ofMillis(baseMs + jitter);
@@ -125,11 +1069,48 @@ public class ReactiveCacheTemplate<T> {
     return keyPrefix + id;
   }
 
-  private Mono<T> deserialize(String json) {
-    return Mono.fromCallable(() -> mapper.readValue(json, type));
+  private String getTagKey(String tag) {
+    return TAG_KEY_PREFIX + keyPrefix + tag;
+  }
+
+  private static long elapsedMillis(long startNanos) {
+    return Duration.ofNanos(System.nanoTime() - startNanos).toMillis();
+  }
+
+  private Mono<CacheEnvelope<T>> deserialize(byte[] bytes) {
+    Mono<CacheEnvelope<T>> decoded = Mono.fromCallable(() -> decode(bytes));
+    return bytes.length < OFFLOAD_DECODE_THRESHOLD
+        ? decoded
+        : decoded.subscribeOn(Schedulers.parallel());
+  }
+
+  private CacheEnvelope<T> decode(byte[] bytes) throws IOException {
+    long start = System.nanoTime();
+    CacheEnvelope<T> envelope;
+    if (serializer.isLegacy(bytes) && !isEnvelopeJson(bytes)) {
+      // Plain JSON entry written before the envelope was introduced
+      T entity = serializer.deserialize(bytes, valueType);
+      envelope = CacheEnvelope.legacy(entity);
+    } else {
+      envelope = serializer.deserialize(bytes, envelopeType);
+    }
+    metrics.deserialized(start, bytes.length);
+    return envelope;
+  }
+
+  private static boolean isEnvelopeJson(byte[] bytes) {
+    return bytes.length >= ENVELOPE_PREFIX.length
+        && Arrays.equals(
+            bytes, 0, ENVELOPE_PREFIX.length, ENVELOPE_PREFIX, 0, ENVELOPE_PREFIX.length);
   }
 
-  private Mono<String> serialize(T entity) {
-    return Mono.fromCallable(() -> mapper.writeValueAsString(entity));
+  private Mono<byte[]> serialize(CacheEnvelope<T> envelope) {
+    return Mono.fromCallable(
+        () -> {
+          long start = System.nanoTime();
+          byte[] bytes = serializer.serialize(envelope, envelopeType);
+          metrics.serialized(start, bytes.length);
+          return bytes;
+        });
   }
 }
@@ -0,0 +1,94 @@
+package com.backend.core.cache;
+
+import java.util.ArrayDeque;
+import java.util.Objects;
+import java.util.Queue;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Supplier;
+
+import lombok.extern.slf4j.Slf4j;
+import reactor.core.publisher.Mono;
+
+/**
+ * Runs the early refreshes of one cache template in the background.
+ *
+ * <p>A key is refreshed at most once at a time, later requests for it are dropped while its
+ * refresh is queued or running. At most {@code maxConcurrent} refreshes run at once and up to
+ * {@code maxQueued} wait for a slot. Beyond that the DB is considered saturated and refreshes are
+ * shed: skipping one only means its entry expires and is reloaded on the next miss.
+ */
+@Slf4j
+class RefreshAheadExecutor {
+  private record Refresh(String key, Supplier<Mono<?>> task) {}
+
+  private final Set<String> inFlight = ConcurrentHashMap.newKeySet();
+  // Guarded by this
+  private final Queue<Refresh> queued = new ArrayDeque<>();
+  private int running;
+  private final RefreshAheadSettings settings;
+  private final CacheMetrics metrics;
+
+  RefreshAheadExecutor(RefreshAheadSettings settings, CacheMetrics metrics) {
+    this.settings = settings;
+    this.metrics = metrics;
+    metrics.gauge("cache.refresh.queued", this::getQueued);
+    metrics.gauge("cache.refresh.running", this::getRunning);
+  }
+
+  void submit(String key, Supplier<Mono<?>> task) {
+    if (!inFlight.add(key)) {
+      metrics.refreshDeduplicated();
+      return;
+    }
+    Refresh refresh = new Refresh(key, task);
+    synchronized (this) {
+      if (running >= settings.getMaxConcurrent()) {
+        if (queued.size() < settings.getMaxQueued()) {
+          queued.add(refresh);
+        } else {
+          inFlight.remove(key);
+          metrics.refreshShed();
+        }
+        return;
+      }
+      running++;
+    }
+    run(refresh);
+  }
+
+  private void run(Refresh refresh) {
+    Mono.defer(refresh.task())
+        .doOnError(
+            e -> {
+              metrics.refreshError();
+              log.warn("Cache early refresh failed for key={}", refresh.key(), e);
+            })
+        .onErrorResume(e -> Mono.empty())
+        .doFinally(signal -> onDone(refresh))
+        .subscribe();
+  }
+
+  private void onDone(Refresh refresh) {
+    inFlight.remove(refresh.key());
+    Refresh next;
+    synchronized (this) {
+      next = queued.poll();
+      if (Objects.isNull(next)) {
+        running--;
+      }
+    }
+    // The slot is handed over to the next refresh instead of being released
+    if (Objects.nonNull(next)) {
+      run(next);
+    }
+  }
+
+  private synchronized int getQueued() {
+    return queued.size();
+  }
+
+  private synchronized int getRunning() {
+    return running;
+  }
+}
@@ -0,0 +1,17 @@
+package com.backend.core.cache;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@Builder
+@AllArgsConstructor
+@NoArgsConstructor
+public class RefreshAheadSettings {
+  // Early refreshes hitting the DB at once per cache template
+  @Builder.Default private int maxConcurrent = 4;
+  // Refreshes waiting for a slot, further ones are dropped, the entry then just expires
+  @Builder.Default private int maxQueued = 100;
+}
@@ -0,0 +1,133 @@
+package com.backend.core.cache;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.Objects;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.function.Function;
+
+import lombok.extern.slf4j.Slf4j;
+import reactor.core.Disposable;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import reactor.core.publisher.Sinks;
+
+/**
+ * Buffers the puts of a cache template and writes them out in batches.
+ *
+ * <p>Only the last value per key is kept. The buffer is flushed every {@code flushInterval}, or as
+ * soon as it holds {@code maxBatchSize} keys. The writes of a flush are issued without waiting for
+ * each other so Lettuce pipelines them. Cancelling a key drops its buffered value; when its write
+ * is already on the wire the key is deleted again once the write lands. The tags of a write are
+ * recorded when it is buffered, so evicting a tag also cancels the writes that would add to it.
+ */
+@Slf4j
+class WriteBehind<T> {
+  record PendingWrite<T>(String id, T entity, long computeMillis, Collection<String> tags) {}
+
+  private record InFlight(Collection<String> tags, boolean cancelled) {}
+
+  private final ConcurrentMap<String, PendingWrite<T>> pending = new ConcurrentHashMap<>();
+  // Keys being written, flagged when they were cancelled meanwhile
+  private final ConcurrentMap<String, InFlight> flushing = new ConcurrentHashMap<>();
+  private final Sinks.Many<Long> batchFull = Sinks.many().multicast().directBestEffort();
+  private final int maxBatchSize;
+  private final Function<PendingWrite<T>, Mono<Boolean>> writer;
+  private final Function<String, Mono<Void>> deleter;
+  private final Disposable flusher;
+
+  WriteBehind(
+      WriteBehindSettings settings,
+      Function<PendingWrite<T>, Mono<Boolean>> writer,
+      Function<String, Mono<Void>> deleter) {
+    this.maxBatchSize = settings.getMaxBatchSize();
+    this.writer = writer;
+    this.deleter = deleter;
+    // Ticks arriving while a flush runs are dropped, the running flush picks their writes up
+    this.flusher =
+        Flux.merge(Flux.interval(settings.getFlushInterval()), batchFull.asFlux())
+            .onBackpressureDrop()
+            .concatMap(tick -> flush(), 1)
+            .subscribe();
+  }
+
+  /** Stops the periodic flushes, writes still buffered are only written by an explicit flush. */
+  void close() {
+    flusher.dispose();
+  }
+
+  void buffer(String key, PendingWrite<T> write) {
+    pending.put(key, write);
+    if (pending.size() >= maxBatchSize) {
+      batchFull.tryEmitNext(0L);
+    }
+  }
+
+  /** Returns the value waiting to be written for the key, so the writing pod reads its writes. */
+  T getIfPresent(String key) {
+    PendingWrite<T> write = pending.get(key);
+    return Objects.isNull(write) ? null : write.entity();
+  }
+
+  void cancel(String key) {
+    pending.remove(key);
+    flushing.computeIfPresent(key, (k, inFlight) -> new InFlight(inFlight.tags(), true));
+  }
+
+  /** Cancels every buffered or in-flight write carrying the tag. */
+  void cancelTagged(String tag) {
+    List<String> keys = new ArrayList<>();
+    pending.forEach((key, write) -> addIfTagged(keys, key, write.tags(), tag));
+    flushing.forEach((key, inFlight) -> addIfTagged(keys, key, inFlight.tags(), tag));
+    keys.forEach(this::cancel);
+  }
+
+  private static void addIfTagged(
+      List<String> keys, String key, Collection<String> tags, String tag) {
+    if (Objects.nonNull(tags) && tags.contains(tag)) {
+      keys.add(key);
+    }
+  }
+
+  Mono<Void> flush() {
+    return Mono.defer(
+        () -> {
+          List<String> keys = new ArrayList<>(pending.keySet());
+          return Flux.fromIterable(keys).flatMap(this::write, maxBatchSize).then();
+        });
+  }
+
+  private Mono<Void> write(String key) {
+    // Marked in flight under the same lock that removes it, so a cancel always sees one of both
+    AtomicReference<PendingWrite<T>> taken = new AtomicReference<>();
+    pending.computeIfPresent(
+        key,
+        (k, write) -> {
+          flushing.put(k, new InFlight(write.tags(), false));
+          taken.set(write);
+          return null;
+        });
+    PendingWrite<T> write = taken.get();
+    if (Objects.isNull(write)) {
+      return Mono.empty();
+    }
+    return writer
+        .apply(write)
+        .onErrorResume(
+            e -> {
+              log.warn("Cache write-behind failed for key={}", key, e);
+              return Mono.just(false);
+            })
+        .then(
+            Mono.defer(
+                () -> {
+                  InFlight written = flushing.remove(key);
+                  return Objects.nonNull(written) && written.cancelled()
+                      ? deleter.apply(key)
+                      : Mono.<Void>empty();
+                }));
+  }
+}
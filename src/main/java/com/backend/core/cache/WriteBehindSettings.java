@@ -0,0 +1,19 @@
+package com.backend.core.cache;
+
+import java.time.Duration;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@Builder
+@AllArgsConstructor
+@NoArgsConstructor
+public class WriteBehindSettings {
+  // Longest time a put stays buffered
+  @Builder.Default private Duration flushInterval = Duration.ofMillis(50);
+  // Buffered keys that trigger a flush before the interval is over
+  @Builder.Default private int maxBatchSize = 256;
+}
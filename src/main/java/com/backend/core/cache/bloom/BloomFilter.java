@@ -0,0 +1,208 @@
+package com.backend.core.cache.bloom;
+
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.Arrays;
+import java.util.Objects;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+import org.springframework.data.redis.core.ReactiveRedisTemplate;
+
+import com.backend.core.cache.CacheEventBus;
+
+import lombok.extern.slf4j.Slf4j;
+import reactor.core.Disposable;
+import reactor.core.Disposables;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+/**
+ * Bloom filter over the ids of one key prefix, answering "definitely absent" without any I/O.
+ *
+ * <p>The bits live in a Redis bitmap shared by all pods, and each pod checks a local snapshot of
+ * it. Additions set the local bits right away, go to Redis with SETBIT and are announced on the
+ * {@link CacheEventBus}. The snapshot is also reloaded periodically to catch up on missed
+ * announcements.
+ *
+ * <p>Ids are only ever added: entities must be written through the cache, seeded or evicted when
+ * they are created, otherwise their reads are rejected. Nothing is rejected until a {@link #seed}
+ * completed and marked the bitmap as seeded, and a pod loaded a snapshot after that; a bitmap
+ * holding only the ids written so far would hide every existing entity.
+ */
+@Slf4j
+public class BloomFilter {
+  private static final String KEY_PREFIX = "cache:bloom:";
+  private static final String SEEDED_SUFFIX = ":seeded";
+  private static final byte[] SEEDED = {1};
+  // fmix64 constants of murmur3
+  private static final long MIX_1 = 0xff51afd7ed558ccdL;
+  private static final long MIX_2 = 0xc4ceb9fe1a85ec53L;
+  private static final long FNV_OFFSET = 0xcbf29ce484222325L;
+  private static final long FNV_PRIME = 0x100000001b3L;
+
+  private final ReactiveRedisTemplate<String, byte[]> redis;
+  private final CacheEventBus eventBus;
+  private final String key;
+  // Written once a seed completed, the bitmap is then complete enough to reject ids
+  private final String seededKey;
+  private final long bitCount;
+  private final int hashCount;
+  private final AtomicLongArray words;
+  private volatile boolean ready;
+  private final Disposable.Composite subscriptions = Disposables.composite();
+
+  public BloomFilter(
+      String keyPrefix,
+      BloomFilterSettings settings,
+      ReactiveRedisTemplate<String, byte[]> redis,
+      CacheEventBus eventBus) {
+    this.redis = redis;
+    this.eventBus = eventBus;
+    this.key = KEY_PREFIX + keyPrefix;
+    this.seededKey = key + SEEDED_SUFFIX;
+    double ln2 = Math.log(2);
+    long bits =
+        (long)
+            Math.ceil(
+                -settings.getExpectedInsertions()
+                    * Math.log(settings.getFalsePositiveRate())
+                    / (ln2 * ln2));
+    // Rounded up to whole words, the local snapshot is stored 64 bits at a time
+    this.bitCount = Math.max(Long.SIZE, (bits + Long.SIZE - 1) / Long.SIZE * Long.SIZE);
+    this.hashCount =
+        Math.max(1, (int) Math.round((double) bitCount / settings.getExpectedInsertions() * ln2));
+    this.words = new AtomicLongArray((int) (bitCount / Long.SIZE));
+    sync(settings.getSnapshotRefresh());
+  }
+
+  /** False only when the id was never added. */
+  public boolean mightContain(String id) {
+    if (!ready) {
+      return true;
+    }
+    return containsLocally(id);
+  }
+
+  public Mono<Void> add(String id) {
+    if (ready && containsLocally(id)) {
+      return Mono.empty();
+    }
+    long[] offsets = offsets(id);
+    setLocally(offsets);
+    return setRemotely(offsets)
+        .then(Mono.defer(() -> announce(id)))
+        .doOnError(e -> log.warn("Bloom filter add failed for key={}", key, e))
+        .onErrorResume(e -> Mono.empty());
+  }
+
+  /**
+   * Adds ids in bulk, e.g. every existing id at startup, then marks the bitmap as seeded. Other
+   * pods pick the additions up and start rejecting with their next snapshot, this pod reloads its
+   * snapshot once seeding is done.
+   */
+  public Mono<Void> seed(Flux<String> ids) {
+    return ids.flatMap(
+            id -> {
+              long[] offsets = offsets(id);
+              setLocally(offsets);
+              return setRemotely(offsets);
+            })
+        .then(Mono.defer(() -> redis.opsForValue().set(seededKey, SEEDED)))
+        .then(Mono.defer(this::loadSnapshot));
+  }
+
+  private Mono<Void> setRemotely(long[] offsets) {
+    return Flux.fromStream(Arrays.stream(offsets).boxed())
+        .flatMap(offset -> redis.opsForValue().setBit(key, offset, true))
+        .then();
+  }
+
+  private Mono<Void> announce(String id) {
+    return Objects.isNull(eventBus) ? Mono.empty() : eventBus.publish(key, id).then();
+  }
+
+  private void sync(Duration snapshotRefresh) {
+    // Additions announced while disconnected are caught up on by the next snapshot
+    Flux<String> announced = Objects.isNull(eventBus) ? Flux.empty() : eventBus.listenForever(key);
+    subscriptions.add(announced.subscribe(id -> setLocally(offsets(id))));
+    subscriptions.add(
+        Flux.interval(Duration.ZERO, snapshotRefresh)
+            .concatMap(tick -> loadSnapshot())
+            .subscribe());
+  }
+
+  /** Stops following additions of other pods and reloading the snapshot. */
+  public void close() {
+    subscriptions.dispose();
+  }
+
+  private Mono<Void> loadSnapshot() {
+    return redis
+        .hasKey(seededKey)
+        .flatMap(
+            seeded ->
+                seeded
+                    ? redis.opsForValue().get(key).doOnNext(this::merge).thenReturn(true)
+                    : Mono.just(false))
+        .doOnNext(seeded -> ready = seeded)
+        .doOnError(e -> log.warn("Bloom filter snapshot load failed for key={}", key, e))
+        .onErrorResume(e -> Mono.empty())
+        .then();
+  }
+
+  // Bits are only ever set, so merging keeps local additions the snapshot may not contain yet
+  private void merge(byte[] bitmap) {
+    int byteCount = (int) Math.min(bitmap.length, bitCount / Byte.SIZE);
+    for (int i = 0; i < byteCount; i++) {
+      if (bitmap[i] == 0) {
+        continue;
+      }
+      // Redis numbers the bits of a byte from the most significant one
+      long reversed = Integer.reverse(bitmap[i] & 0xff) >>> 24;
+      long bits = reversed << ((i % Long.BYTES) * Byte.SIZE);
+      words.getAndAccumulate(i / Long.BYTES, bits, (current, added) -> current | added);
+    }
+  }
+
+  private boolean containsLocally(String id) {
+    for (long offset : offsets(id)) {
+      if ((words.get((int) (offset / Long.SIZE)) & (1L << (offset % Long.SIZE))) == 0) {
+        return false;
+      }
+    }
+    return true;
+  }
+
+  private void setLocally(long[] offsets) {
+    for (long offset : offsets) {
+      long bit = 1L << (offset % Long.SIZE);
+      words.getAndAccumulate((int) (offset / Long.SIZE), bit, (current, added) -> current | added);
+    }
+  }
+
+  // Double hashing: the k offsets are h1 + i * h2 from the two halves of one 64-bit hash
+  private long[] offsets(String id) {
+    long hash = hash(id);
+    long h1 = hash & 0xffffffffL;
+    long h2 = hash >>> 32;
+    long[] offsets = new long[hashCount];
+    for (int i = 0; i < hashCount; i++) {
+      offsets[i] = Math.floorMod(h1 + i * h2, bitCount);
+    }
+    return offsets;
+  }
+
+  private static long hash(String id) {
+    long hash = FNV_OFFSET;
+    for (byte b : id.getBytes(StandardCharsets.UTF_8)) {
+      hash ^= b;
+      hash *= FNV_PRIME;
+    }
+    hash ^= hash >>> 33;
+    hash *= MIX_1;
+    hash ^= hash >>> 33;
+    hash *= MIX_2;
+    hash ^= hash >>> 33;
+    return hash;
+  }
+}
@@ -0,0 +1,20 @@
+package com.backend.core.cache.bloom;
+
+import java.time.Duration;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@Builder
+@AllArgsConstructor
+@NoArgsConstructor
+public class BloomFilterSettings {
+  // Sizes the bitmap, the false positive rate degrades once more ids are added
+  @Builder.Default private long expectedInsertions = 1_000_000;
+  @Builder.Default private double falsePositiveRate = 0.01;
+  // Full reload of the local snapshot, additions made by other pods arrive in between over the bus
+  @Builder.Default private Duration snapshotRefresh = Duration.ofMinutes(1);
+}
@@ -0,0 +1,24 @@
+package com.backend.core.cache.codec;
+
+import java.io.IOException;
+import java.util.Arrays;
+
+import com.fasterxml.jackson.databind.JavaType;
+
+/**
+ * Turns cached values into bytes and back.
+ *
+ * <p>The {@link #id()} is written in the header of every stored value, so entries written with a
+ * different codec can still be read after switching. Ids must therefore stay stable once used.
+ */
+public interface CacheCodec {
+  byte id();
+
+  byte[] encode(Object value, JavaType type) throws IOException;
+
+  <V> V decode(byte[] bytes, JavaType type) throws IOException;
+
+  default <V> V decode(byte[] bytes, int offset, int length, JavaType type) throws IOException {
+    return decode(Arrays.copyOfRange(bytes, offset, offset + length), type);
+  }
+}
@@ -0,0 +1,103 @@
+package com.backend.core.cache.codec;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Objects;
+
+import com.fasterxml.jackson.databind.JavaType;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import net.jpountz.lz4.LZ4Compressor;
+import net.jpountz.lz4.LZ4Factory;
+import net.jpountz.lz4.LZ4FastDecompressor;
+
+/**
+ * Frames encoded values before they are written to Redis.
+ *
+ * <p>Layout: {@code [MAGIC][codec id][flags]} followed by the payload. When the payload is larger
+ * than the compression threshold it is LZ4 compressed, the flags say so and the original length is
+ * stored in front of it. Values without the magic byte are plain JSON written before framing was
+ * introduced and are decoded with the JSON codec.
+ */
+public class CacheValueSerializer {
+  public static final int DEFAULT_COMPRESSION_THRESHOLD = 4 * 1024;
+
+  // Never the first byte of a JSON document, so framed and legacy values cannot be confused
+  private static final byte MAGIC = (byte) 0xCA;
+  private static final byte FLAG_LZ4 = 1;
+  private static final int HEADER_LENGTH = 3;
+  private static final int ORIGINAL_LENGTH_BYTES = Integer.BYTES;
+
+  private final CacheCodec codec;
+  private final CacheCodec legacyCodec;
+  private final Map<Byte, CacheCodec> codecsById = new HashMap<>();
+  private final int compressionThreshold;
+  private final LZ4Compressor compressor;
+  private final LZ4FastDecompressor decompressor;
+
+  public CacheValueSerializer(ObjectMapper mapper, CacheCodec codec, int compressionThreshold) {
+    this.legacyCodec = new JsonCacheCodec(mapper);
+    this.codec = Objects.isNull(codec) ? legacyCodec : codec;
+    this.compressionThreshold = compressionThreshold;
+    LZ4Factory lz4 = LZ4Factory.fastestInstance();
+    this.compressor = lz4.fastCompressor();
+    this.decompressor = lz4.fastDecompressor();
+
+    // Every built-in codec stays readable, so switching codecs does not invalidate the cache
+    register(legacyCodec);
+    register(new SmileCacheCodec(mapper));
+    register(new CborCacheCodec(mapper));
+    register(this.codec);
+  }
+
+  private void register(CacheCodec candidate) {
+    codecsById.put(candidate.id(), candidate);
+  }
+
+  public byte[] serialize(Object value, JavaType type) throws IOException {
+    byte[] payload = codec.encode(value, type);
+    if (payload.length < compressionThreshold) {
+      return ByteBuffer.allocate(HEADER_LENGTH + payload.length)
+          .put(MAGIC)
+          .put(codec.id())
+          .put((byte) 0)
+          .put(payload)
+          .array();
+    }
+
+    byte[] compressed = compressor.compress(payload);
+    return ByteBuffer.allocate(HEADER_LENGTH + ORIGINAL_LENGTH_BYTES + compressed.length)
+        .put(MAGIC)
+        .put(codec.id())
+        .put(FLAG_LZ4)
+        .putInt(payload.length)
+        .put(compressed)
+        .array();
+  }
+
+  /** Returns true when the value was written without the frame header. */
+  public boolean isLegacy(byte[] bytes) {
+    return bytes.length < HEADER_LENGTH || bytes[0] != MAGIC;
+  }
+
+  public <V> V deserialize(byte[] bytes, JavaType type) throws IOException {
+    if (isLegacy(bytes)) {
+      return legacyCodec.decode(bytes, type);
+    }
+
+    CacheCodec valueCodec = codecsById.get(bytes[1]);
+    if (Objects.isNull(valueCodec)) {
+      throw new IOException("Unknown cache codec id " + bytes[1]);
+    }
+
+    if ((bytes[2] & FLAG_LZ4) != 0) {
+      int originalLength = ByteBuffer.wrap(bytes, HEADER_LENGTH, ORIGINAL_LENGTH_BYTES).getInt();
+      byte[] payload =
+          decompressor.decompress(bytes, HEADER_LENGTH + ORIGINAL_LENGTH_BYTES, originalLength);
+      return valueCodec.decode(payload, type);
+    }
+    return valueCodec.decode(bytes, HEADER_LENGTH, bytes.length - HEADER_LENGTH, type);
+  }
+}
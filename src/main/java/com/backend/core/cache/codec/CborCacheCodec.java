@@ -0,0 +1,18 @@
+package com.backend.core.cache.codec;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.dataformat.cbor.CBORFactory;
+
+public class CborCacheCodec extends JacksonCacheCodec {
+  public static final byte ID = 3;
+
+  public CborCacheCodec(ObjectMapper mapper) {
+    // copyWith keeps the registered modules and features of the application mapper
+    super(mapper.copyWith(new CBORFactory()));
+  }
+
+  @Override
+  public byte id() {
+    return ID;
+  }
+}
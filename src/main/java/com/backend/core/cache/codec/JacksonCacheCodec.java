@@ -0,0 +1,39 @@
+package com.backend.core.cache.codec;
+
+import java.io.IOException;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+import com.fasterxml.jackson.databind.JavaType;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectReader;
+import com.fasterxml.jackson.databind.ObjectWriter;
+
+/**
+ * Base for the Jackson backed formats. Readers and writers are resolved once per type, which
+ * skips the serializer lookup {@code ObjectMapper.readValue} does on every call.
+ */
+public abstract class JacksonCacheCodec implements CacheCodec {
+  private final ObjectMapper mapper;
+  private final Map<JavaType, ObjectReader> readers = new ConcurrentHashMap<>();
+  private final Map<JavaType, ObjectWriter> writers = new ConcurrentHashMap<>();
+
+  protected JacksonCacheCodec(ObjectMapper mapper) {
+    this.mapper = mapper;
+  }
+
+  @Override
+  public byte[] encode(Object value, JavaType type) throws IOException {
+    return writers.computeIfAbsent(type, mapper::writerFor).writeValueAsBytes(value);
+  }
+
+  @Override
+  public <V> V decode(byte[] bytes, JavaType type) throws IOException {
+    return readers.computeIfAbsent(type, mapper::readerFor).readValue(bytes);
+  }
+
+  @Override
+  public <V> V decode(byte[] bytes, int offset, int length, JavaType type) throws IOException {
+    return readers.computeIfAbsent(type, mapper::readerFor).readValue(bytes, offset, length);
+  }
+}
@@ -0,0 +1,16 @@
+package com.backend.core.cache.codec;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+public class JsonCacheCodec extends JacksonCacheCodec {
+  public static final byte ID = 1;
+
+  public JsonCacheCodec(ObjectMapper mapper) {
+    super(mapper);
+  }
+
+  @Override
+  public byte id() {
+    return ID;
+  }
+}
@@ -0,0 +1,19 @@
+package com.backend.core.cache.codec;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.dataformat.smile.SmileFactory;
+
+/** Binary JSON, keeps the data model of the JSON codec with smaller payloads and faster parsing. */
+public class SmileCacheCodec extends JacksonCacheCodec {
+  public static final byte ID = 2;
+
+  public SmileCacheCodec(ObjectMapper mapper) {
+    // copyWith keeps the registered modules and features of the application mapper
+    super(mapper.copyWith(new SmileFactory()));
+  }
+
+  @Override
+  public byte id() {
+    return ID;
+  }
+}
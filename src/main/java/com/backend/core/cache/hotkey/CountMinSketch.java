@@ -0,0 +1,47 @@
+package com.backend.core.cache.hotkey;
+
+import java.util.concurrent.atomic.AtomicIntegerArray;
+
+/**
+ * Fixed size frequency estimator: {@code depth} rows of {@code width} counters, each row indexed
+ * by a different hash of the key. The estimate is the smallest of the key's counters, it may
+ * over-count because of collisions but never under-counts.
+ */
+class CountMinSketch {
+  // 32-bit golden ratio and murmur3 finalizer constant, spread the hashes of the rows apart
+  private static final int SEED_STEP = 0x9E3779B9;
+  private static final int MIX = 0x85EBCA6B;
+
+  private final int depth;
+  private final int mask;
+  private final AtomicIntegerArray counters;
+
+  CountMinSketch(int width, int depth) {
+    int rowWidth = Integer.highestOneBit(Math.max(width - 1, 1)) << 1;
+    this.depth = depth;
+    this.mask = rowWidth - 1;
+    this.counters = new AtomicIntegerArray(rowWidth * depth);
+  }
+
+  /** Counts one occurrence of the key and returns its new estimate. */
+  int increment(String key) {
+    int hash = key.hashCode();
+    int estimate = Integer.MAX_VALUE;
+    for (int row = 0; row < depth; row++) {
+      estimate = Math.min(estimate, counters.incrementAndGet(index(hash, row)));
+    }
+    return estimate;
+  }
+
+  void reset() {
+    for (int i = 0; i < counters.length(); i++) {
+      counters.set(i, 0);
+    }
+  }
+
+  private int index(int hash, int row) {
+    int h = (hash + row * SEED_STEP) * MIX;
+    h ^= h >>> 16;
+    return row * (mask + 1) + (h & mask);
+  }
+}
@@ -0,0 +1,14 @@
+package com.backend.core.cache.hotkey;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class HotKey {
+  private String key;
+  // Reads counted in the window that made the key hot
+  private long reads;
+}
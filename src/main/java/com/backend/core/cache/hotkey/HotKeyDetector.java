@@ -0,0 +1,88 @@
+package com.backend.core.cache.hotkey;
+
+import java.util.Comparator;
+import java.util.List;
+import java.util.Objects;
+import java.util.concurrent.atomic.AtomicLong;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+
+/**
+ * Spots the keys of one cache template that get an outsized share of the reads.
+ *
+ * <p>Reads are counted in a {@link CountMinSketch} that starts over every window, so the counting
+ * memory stays fixed however many keys there are. Keys crossing the threshold are marked hot for a
+ * couple of windows, and their values are then replicated in-process for a short TTL so their
+ * reads stop reaching the Redis shard that owns them.
+ */
+public class HotKeyDetector<T> {
+  private static final int HOT_WINDOWS = 2;
+
+  private final CountMinSketch sketch;
+  private final int threshold;
+  private final long windowMillis;
+  private final AtomicLong windowStart = new AtomicLong(System.currentTimeMillis());
+  private final Cache<String, Long> hotKeys;
+  private final Cache<String, T> replicas;
+
+  public HotKeyDetector(HotKeySettings settings) {
+    this.sketch = new CountMinSketch(settings.getSketchWidth(), settings.getSketchDepth());
+    this.threshold = settings.getThreshold();
+    this.windowMillis = settings.getWindow().toMillis();
+    this.hotKeys =
+        Caffeine.newBuilder()
+            .maximumSize(settings.getMaxHotKeys())
+            .expireAfterWrite(settings.getWindow().multipliedBy(HOT_WINDOWS))
+            .build();
+    this.replicas =
+        Caffeine.newBuilder()
+            .maximumSize(settings.getMaxHotKeys())
+            .expireAfterWrite(settings.getReplicaTtl())
+            .build();
+  }
+
+  public void recordRead(String key) {
+    long now = System.currentTimeMillis();
+    long start = windowStart.get();
+    if (now - start >= windowMillis && windowStart.compareAndSet(start, now)) {
+      sketch.reset();
+    }
+    int reads = sketch.increment(key);
+    // Only the read crossing the threshold writes, later reads of the window leave the entry alone
+    if (reads == threshold) {
+      hotKeys.put(key, (long) reads);
+    }
+  }
+
+  public boolean isHot(String key) {
+    return Objects.nonNull(hotKeys.getIfPresent(key));
+  }
+
+  public T getReplica(String key) {
+    return replicas.getIfPresent(key);
+  }
+
+  /** Keeps a copy of the value if the key is hot, other keys are left to the regular tiers. */
+  public void replicate(String key, T value) {
+    if (isHot(key)) {
+      replicas.put(key, value);
+    }
+  }
+
+  public void drop(String key) {
+    replicas.invalidate(key);
+  }
+
+  public void clear() {
+    replicas.invalidateAll();
+  }
+
+  /** Hot keys, most read first. */
+  public List<HotKey> getHotKeys() {
+    return hotKeys.asMap().entrySet().stream()
+        .map(entry -> new HotKey(entry.getKey(), entry.getValue()))
+        .sorted(Comparator.comparingLong(HotKey::getReads).reversed())
+        .toList();
+  }
+}
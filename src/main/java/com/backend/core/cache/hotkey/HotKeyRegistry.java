@@ -0,0 +1,26 @@
+package com.backend.core.cache.hotkey;
+
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+
+/** Detectors of every cache template of the service, keyed by key prefix. */
+public class HotKeyRegistry {
+  private final ConcurrentMap<String, HotKeyDetector<?>> detectors = new ConcurrentHashMap<>();
+
+  public void register(String keyPrefix, HotKeyDetector<?> detector) {
+    detectors.put(keyPrefix, detector);
+  }
+
+  public void unregister(String keyPrefix, HotKeyDetector<?> detector) {
+    detectors.remove(keyPrefix, detector);
+  }
+
+  public Map<String, List<HotKey>> getHotKeys() {
+    Map<String, List<HotKey>> hotKeys = new TreeMap<>();
+    detectors.forEach((keyPrefix, detector) -> hotKeys.put(keyPrefix, detector.getHotKeys()));
+    return hotKeys;
+  }
+}
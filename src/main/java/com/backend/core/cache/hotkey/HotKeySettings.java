@@ -0,0 +1,24 @@
+package com.backend.core.cache.hotkey;
+
+import java.time.Duration;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@Builder
+@AllArgsConstructor
+@NoArgsConstructor
+public class HotKeySettings {
+  // Reads of one key within a window that make it hot
+  @Builder.Default private int threshold = 1_000;
+  @Builder.Default private Duration window = Duration.ofSeconds(1);
+  // Bounds how stale a replica can be, changes made by other pods are not broadcast to it
+  @Builder.Default private Duration replicaTtl = Duration.ofSeconds(1);
+  @Builder.Default private long maxHotKeys = 1_000;
+  // Counters per row of the sketch, rounded up to a power of two
+  @Builder.Default private int sketchWidth = 4_096;
+  @Builder.Default private int sketchDepth = 4;
+}
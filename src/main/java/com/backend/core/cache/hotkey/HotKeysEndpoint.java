@@ -0,0 +1,21 @@
+package com.backend.core.cache.hotkey;
+
+import java.util.List;
+import java.util.Map;
+
+import org.springframework.boot.actuate.endpoint.annotation.Endpoint;
+import org.springframework.boot.actuate.endpoint.annotation.ReadOperation;
+
+import lombok.RequiredArgsConstructor;
+
+/** Exposes the current hot keys per cache at {@code /actuator/hotkeys}. */
+@Endpoint(id = "hotkeys")
+@RequiredArgsConstructor
+public class HotKeysEndpoint {
+  private final HotKeyRegistry hotKeyRegistry;
+
+  @ReadOperation
+  public Map<String, List<HotKey>> hotKeys() {
+    return hotKeyRegistry.getHotKeys();
+  }
+}
@@ -0,0 +1,232 @@
+package com.backend.core.cache.invalidation;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.beans.factory.InitializingBean;
+import org.springframework.data.redis.core.ReactiveRedisTemplate;
+
+import com.backend.core.cache.ReactiveCacheTemplate;
+import com.backend.core.exceptions.ConfigurationException;
+
+import io.r2dbc.postgresql.PostgresqlConnectionFactory;
+import io.r2dbc.postgresql.api.Notification;
+import io.r2dbc.postgresql.api.PostgresqlConnection;
+import io.r2dbc.postgresql.api.PostgresqlResult;
+import io.r2dbc.spi.ConnectionFactory;
+import io.r2dbc.spi.Wrapped;
+import lombok.extern.slf4j.Slf4j;
+import reactor.core.Disposable;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import reactor.util.retry.Retry;
+
+/**
+ * Evicts cache entries when their rows change in Postgres, whoever changed them.
+ *
+ * <p>Listens on a notification channel fed by row triggers with {@code <table>:<id>:<txid>}
+ * payloads, and evicts the ids from every cache registered for the table, batched per cache.
+ * Inserts notify too, so a tombstone left by an earlier miss is dropped. For example:
+ *
+ * <pre>{@code
+ * CREATE FUNCTION notify_cache_invalidation() RETURNS trigger AS $$
+ * BEGIN
+ *   PERFORM pg_notify('cache_invalidation', TG_TABLE_NAME || ':'
+ *       || CASE WHEN TG_OP = 'DELETE' THEN OLD.id ELSE NEW.id END || ':' || txid_current());
+ *   RETURN NULL;
+ * END $$ LANGUAGE plpgsql;
+ *
+ * CREATE TRIGGER users_cache_invalidation AFTER INSERT OR UPDATE OR DELETE ON users
+ *   FOR EACH ROW EXECUTE FUNCTION notify_cache_invalidation();
+ * }</pre>
+ *
+ * <p>Every pod listens and drops the ids from its own in-process tiers. With a Redis template each
+ * notification is then claimed with a SET NX and only the pod winning the claim deletes the shared
+ * entries, so a claimer dying in between only leaves them to expire. The transaction id keeps two
+ * changes of one row apart, without it a change arriving within {@code claimTtl} of the previous
+ * one of the same row is only dropped locally.
+ *
+ * <p>The listener holds its own connection, outside the pool, and reconnects with a backoff.
+ * Notifications sent while it was disconnected are lost, so every registered cache is invalidated
+ * as a whole after a reconnect unless turned off; pods reconnecting together do it once.
+ */
+@Slf4j
+public class PostgresCacheInvalidationListener implements InitializingBean, DisposableBean {
+  private static final char SEPARATOR = ':';
+  private static final String CLAIM_PREFIX = "cache:invalidation:claim:";
+  private static final String CLAIMED = "1";
+  private static final Duration RECONNECT_MIN_BACKOFF = Duration.ofSeconds(1);
+  private static final Duration RECONNECT_MAX_BACKOFF = Duration.ofSeconds(30);
+
+  private final ConnectionFactory connectionFactory;
+  private final PostgresInvalidationSettings settings;
+  // Null when every pod evicts every notification itself
+  private final ReactiveRedisTemplate<String, String> redis;
+  private final Map<String, List<ReactiveCacheTemplate<?>>> cachesByTable =
+      new ConcurrentHashMap<>();
+  private final AtomicBoolean listenedBefore = new AtomicBoolean();
+  private Disposable subscription;
+
+  public PostgresCacheInvalidationListener(
+      ConnectionFactory connectionFactory, PostgresInvalidationSettings settings) {
+    this(connectionFactory, settings, null);
+  }
+
+  public PostgresCacheInvalidationListener(
+      ConnectionFactory connectionFactory,
+      PostgresInvalidationSettings settings,
+      ReactiveRedisTemplate<String, String> redis) {
+    this.connectionFactory = connectionFactory;
+    this.settings = settings;
+    this.redis = redis;
+  }
+
+  public PostgresCacheInvalidationListener register(String table, ReactiveCacheTemplate<?> cache) {
+    cachesByTable.computeIfAbsent(table, t -> new CopyOnWriteArrayList<>()).add(cache);
+    return this;
+  }
+
+  @Override
+  public void afterPropertiesSet() {
+    subscription =
+        notifications()
+            .bufferTimeout(settings.getMaxBatchSize(), settings.getBatchWindow())
+            .concatMap(
+                payloads ->
+                    Mono.fromRunnable(() -> evictLocally(payloads))
+                        .then(claimAll(payloads))
+                        .flatMap(this::evict))
+            .retryWhen(
+                Retry.backoff(Long.MAX_VALUE, RECONNECT_MIN_BACKOFF)
+                    .maxBackoff(RECONNECT_MAX_BACKOFF)
+                    .doBeforeRetry(
+                        signal ->
+                            log.warn(
+                                "Cache invalidation listener on channel={} failed, reconnecting",
+                                settings.getChannel(),
+                                signal.failure())))
+            .subscribe();
+  }
+
+  private Flux<String> notifications() {
+    return Flux.usingWhen(
+        Mono.defer(() -> postgresConnectionFactory().create()),
+        connection ->
+            connection
+                .createStatement("LISTEN \"" + settings.getChannel() + "\"")
+                .execute()
+                .flatMap(PostgresqlResult::getRowsUpdated)
+                .thenMany(
+                    Flux.defer(
+                        () -> {
+                          onListening();
+                          return connection.getNotifications();
+                        }))
+                .mapNotNull(Notification::getParameter),
+        PostgresqlConnection::close);
+  }
+
+  private void onListening() {
+    log.info("Cache invalidation listening on channel={}", settings.getChannel());
+    if (listenedBefore.getAndSet(true) && settings.isInvalidateAllOnReconnect()) {
+      claim("reconnect")
+          .filter(Boolean.TRUE::equals)
+          .flatMapMany(claimed -> Flux.fromIterable(cachesByTable.values()))
+          .flatMapIterable(caches -> caches)
+          .distinct()
+          .flatMap(ReactiveCacheTemplate::invalidateAll)
+          .onErrorResume(e -> Mono.empty())
+          .subscribe();
+    }
+  }
+
+  // Keeps the payloads no other pod has claimed yet
+  private Mono<List<String>> claimAll(List<String> payloads) {
+    return Flux.fromIterable(payloads).filterWhen(this::claim).collectList();
+  }
+
+  private Mono<Boolean> claim(String payload) {
+    if (Objects.isNull(redis)) {
+      return Mono.just(true);
+    }
+    String claimKey = CLAIM_PREFIX + settings.getChannel() + SEPARATOR + payload;
+    // Evicting twice is harmless, missing an eviction is not
+    return redis
+        .opsForValue()
+        .setIfAbsent(claimKey, CLAIMED, settings.getClaimTtl())
+        .onErrorReturn(true);
+  }
+
+  private void evictLocally(List<String> payloads) {
+    idsByTable(payloads)
+        .forEach(
+            (table, ids) ->
+                cachesByTable
+                    .getOrDefault(table, List.of())
+                    .forEach(cache -> cache.evictLocally(ids)));
+  }
+
+  private Mono<Void> evict(List<String> payloads) {
+    List<Mono<Void>> evictions = new ArrayList<>();
+    idsByTable(payloads)
+        .forEach(
+            (table, ids) -> {
+              List<ReactiveCacheTemplate<?>> caches = cachesByTable.get(table);
+              if (Objects.isNull(caches)) {
+                return;
+              }
+              // A failed eviction must not drop the connection and the notifications queued
+              // behind it
+              caches.forEach(
+                  cache -> evictions.add(cache.evictMany(ids).onErrorResume(e -> Mono.empty())));
+            });
+    return Flux.merge(evictions).then();
+  }
+
+  private static Map<String, Set<String>> idsByTable(List<String> payloads) {
+    Map<String, Set<String>> idsByTable = new HashMap<>();
+    for (String payload : payloads) {
+      int separator = payload.indexOf(SEPARATOR);
+      if (separator <= 0) {
+        log.warn("Ignoring malformed cache invalidation payload={}", payload);
+        continue;
+      }
+      // The transaction id, when there is one, only tells notifications apart
+      int idEnd = payload.indexOf(SEPARATOR, separator + 1);
+      idsByTable
+          .computeIfAbsent(payload.substring(0, separator), table -> new LinkedHashSet<>())
+          .add(payload.substring(separator + 1, idEnd < 0 ? payload.length() : idEnd));
+    }
+    return idsByTable;
+  }
+
+  private PostgresqlConnectionFactory postgresConnectionFactory() {
+    // The pool wraps the driver factory, LISTEN needs a connection of its own
+    Object factory = connectionFactory;
+    while (!(factory instanceof PostgresqlConnectionFactory) && factory instanceof Wrapped<?>) {
+      factory = ((Wrapped<?>) factory).unwrap();
+    }
+    if (factory instanceof PostgresqlConnectionFactory postgresConnectionFactory) {
+      return postgresConnectionFactory;
+    }
+    throw new ConfigurationException(
+        "Cache invalidation needs a Postgres R2DBC connection factory");
+  }
+
+  @Override
+  public void destroy() {
+    if (Objects.nonNull(subscription)) {
+      subscription.dispose();
+    }
+  }
+}
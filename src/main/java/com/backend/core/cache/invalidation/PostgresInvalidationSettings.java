@@ -0,0 +1,24 @@
+package com.backend.core.cache.invalidation;
+
+import java.time.Duration;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@Builder
+@AllArgsConstructor
+@NoArgsConstructor
+public class PostgresInvalidationSettings {
+  // Postgres channel the triggers notify on
+  @Builder.Default private String channel = "cache_invalidation";
+  // Notifications are evicted together once that many arrived or the window is over
+  @Builder.Default private int maxBatchSize = 500;
+  @Builder.Default private Duration batchWindow = Duration.ofMillis(100);
+  // Notifications sent while the listener was disconnected are lost, start the caches over
+  @Builder.Default private boolean invalidateAllOnReconnect = true;
+  // How long a pod's claim on a notification, or on a reconnect invalidation, keeps others off it
+  @Builder.Default private Duration claimTtl = Duration.ofSeconds(30);
+}
@@ -0,0 +1,90 @@
+package com.backend.core.cache.near;
+
+import java.util.Objects;
+
+import com.backend.core.cache.CacheEventBus;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+
+import reactor.core.Disposable;
+import reactor.core.publisher.Mono;
+
+/**
+ * In-process L1 tier sitting in front of Redis.
+ *
+ * <p>Entries are bounded by size and a short TTL. Writes and evictions are broadcast to the other
+ * pods through the {@link CacheEventBus} so their copies are dropped right away.
+ */
+public class NearCache<T> {
+  private static final String CHANNEL_PREFIX = "cache:invalidate:";
+
+  private final Cache<String, T> entries;
+  private final CacheEventBus eventBus;
+  private final String channel;
+  // Null without an event bus
+  private Disposable subscription;
+
+  public NearCache(String keyPrefix, NearCacheSettings settings, CacheEventBus eventBus) {
+    this.entries =
+        Caffeine.newBuilder()
+            .maximumSize(settings.getMaxSize())
+            .expireAfterWrite(settings.getTtl())
+            .build();
+    this.eventBus = eventBus;
+    this.channel = CHANNEL_PREFIX + keyPrefix;
+    if (Objects.nonNull(eventBus)) {
+      subscribe();
+    }
+  }
+
+  public T getIfPresent(String key) {
+    return entries.getIfPresent(key);
+  }
+
+  /** Keeps a local copy of a value that was just read from Redis. */
+  public void put(String key, T value) {
+    entries.put(key, value);
+  }
+
+  /** Keeps a local copy of a just written value and tells the other pods to drop theirs. */
+  public Mono<Void> update(String key, T value) {
+    entries.put(key, value);
+    return broadcast(key);
+  }
+
+  /** Drops the local copy and tells the other pods to drop theirs. */
+  public Mono<Void> invalidate(String key) {
+    entries.invalidate(key);
+    return broadcast(key);
+  }
+
+  /** Drops the local copy without telling the other pods, e.g. when each pod learns on its own. */
+  public void drop(String key) {
+    entries.invalidate(key);
+  }
+
+  /** Drops every local copy without telling the other pods, they learn about it on their own. */
+  public void clear() {
+    entries.invalidateAll();
+  }
+
+  private Mono<Void> broadcast(String key) {
+    if (Objects.isNull(eventBus)) {
+      return Mono.empty();
+    }
+    return eventBus.publish(channel, key).then();
+  }
+
+  /** Stops listening for invalidations from other pods. */
+  public void close() {
+    if (Objects.nonNull(subscription)) {
+      subscription.dispose();
+    }
+  }
+
+  private void subscribe() {
+    // Messages published while disconnected are lost, so start over with an empty tier
+    subscription =
+        eventBus.listenForever(channel, entries::invalidateAll).subscribe(entries::invalidate);
+  }
+}
@@ -0,0 +1,19 @@
+package com.backend.core.cache.near;
+
+import java.time.Duration;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@Builder
+@AllArgsConstructor
+@NoArgsConstructor
+public class NearCacheSettings {
+  // Upper bound of entries kept in-process, least recently used entries are evicted first
+  @Builder.Default private long maxSize = 10_000;
+  // Kept short on purpose: it bounds staleness when an invalidation message is lost
+  @Builder.Default private Duration ttl = Duration.ofSeconds(30);
+}
@@ -0,0 +1,33 @@
+package com.backend.core.cache.settings;
+
+import java.time.Duration;
+import java.util.HashMap;
+import java.util.Map;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.context.annotation.Configuration;
+
+import lombok.Data;
+
+/**
+ * Lettuce client tuning, the same for every environment. Endpoint and credentials come from the
+ * {@link CacheConnectionSettingsProvider}.
+ */
+@Data
+@Configuration
+@ConfigurationProperties(prefix = "cache.client")
+public class CacheClientSettings {
+  // Lettuce ReadFrom name, e.g. upstream, replicaPreferred, lowestLatency
+  private String readFrom;
+  private Duration connectTimeout = Duration.ofSeconds(2);
+  private Duration commandTimeout = Duration.ofMillis(500);
+  // Overrides of commandTimeout keyed by Redis command, e.g. MGET: 1s
+  private Map<String, Duration> commandTimeouts = new HashMap<>();
+  private boolean keepAlive = true;
+  private Duration keepAliveIdle = Duration.ofSeconds(30);
+  // Cluster mode only: periodic refresh plus refresh on MOVED/ASK and reconnects after failover
+  private Duration topologyRefreshPeriod = Duration.ofSeconds(30);
+  private boolean adaptiveTopologyRefresh = true;
+  // Defaults to the number of available cores
+  private Integer ioThreads;
+}
@@ -1,5 +1,19 @@
 package com.backend.core.cache.settings;
 
+import io.lettuce.core.RedisCredentials;
+import io.lettuce.core.RedisCredentialsProvider;
+import reactor.core.publisher.Mono;
+
 public interface CacheConnectionSettingsProvider {
   CacheConnectionSettings provide();
+
+  /**
+   * Resolved whenever a connection is opened. Providers whose secret rotates resolve the latest
+   * credentials, connections already open keep working with the ones they authenticated with.
+   */
+  default RedisCredentialsProvider credentialsProvider() {
+    return () ->
+        Mono.fromSupplier(this::provide)
+            .map(settings -> RedisCredentials.just(settings.getUsername(), settings.getPassword()));
+  }
 }
@@ -2,9 +2,17 @@ package com.backend.core.cache.settings;
 
 import java.io.IOException;
 import java.nio.charset.StandardCharsets;
+import java.time.Duration;
 import java.util.Base64;
+import java.util.Objects;
 import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicReference;
 
+import org.springframework.beans.factory.DisposableBean;
 import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
 import org.springframework.core.env.Environment;
 import org.springframework.stereotype.Component;
@@ -13,74 +21,140 @@ import com.backend.core.exceptions.AWSException;
 import com.backend.core.exceptions.ConfigurationException;
 import com.fasterxml.jackson.databind.ObjectMapper;
 
+import io.lettuce.core.RedisCredentials;
+import io.lettuce.core.RedisCredentialsProvider;
+import lombok.extern.slf4j.Slf4j;
+import reactor.core.Disposable;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
 import software.amazon.awssdk.regions.Region;
-import software.amazon.awssdk.services.secretsmanager.SecretsManagerClient;
-import software.amazon.awssdk.services.secretsmanager.model.DecryptionFailureException;
+import software.amazon.awssdk.services.secretsmanager.SecretsManagerAsyncClient;
 import software.amazon.awssdk.services.secretsmanager.model.GetSecretValueRequest;
 import software.amazon.awssdk.services.secretsmanager.model.GetSecretValueResponse;
-import software.amazon.awssdk.services.secretsmanager.model.InternalServiceErrorException;
-import software.amazon.awssdk.services.secretsmanager.model.InvalidParameterException;
-import software.amazon.awssdk.services.secretsmanager.model.InvalidRequestException;
-import software.amazon.awssdk.services.secretsmanager.model.ResourceNotFoundException;
 
+/**
+ * Reads the cache connection settings from AWS Secrets Manager.
+ *
+ * <p>The secret is requested asynchronously as soon as the bean is created, so the call overlaps
+ * with the rest of the startup and {@link #provide()} only waits for whatever is left of it. The
+ * secret is then re-read periodically; new connections authenticate with the latest credentials,
+ * so a rotation needs no restart. A failed refresh keeps the last credentials.
+ */
+@Slf4j
 @Component("awsSecretsCacheConnectionSettingsProvider")
 @ConditionalOnProperty(name = "AWS_REGION")
 public class CacheConnectionSettingsProviderImplAWSSecret
-    implements CacheConnectionSettingsProvider {
+    implements CacheConnectionSettingsProvider, DisposableBean {
   private static final String AWS_CACHE_SECRET_NAME_PARAM = "AWS_CACHE_SECRET_NAME";
   private static final String AWS_REGION = "AWS_REGION";
+  private static final String REFRESH_INTERVAL_PARAM = "AWS_CACHE_SECRET_REFRESH_INTERVAL";
+  private static final Duration DEFAULT_REFRESH_INTERVAL = Duration.ofMinutes(5);
+  private static final Duration FETCH_TIMEOUT = Duration.ofSeconds(10);
 
   private final Environment environment;
-  private final SecretsManagerClient secretsManagerClient;
+  private final SecretsManagerAsyncClient secretsManagerClient;
   private final ObjectMapper objectMapper;
+  private final String secretName;
+  // Latest successfully fetched settings, or the first fetch while it is still running
+  private final AtomicReference<CompletableFuture<CacheConnectionSettings>> settings;
+  private final Disposable refresher;
 
   public CacheConnectionSettingsProviderImplAWSSecret(
       Environment environment, ObjectMapper objectMapper) {
     this.objectMapper = objectMapper;
     this.environment = environment;
     this.secretsManagerClient = initializeSecretsManagerClient();
+    this.secretName =
+        assertRequiredEnvironmentParam(
+            AWS_CACHE_SECRET_NAME_PARAM, "AWS Cache Secret Name is not defined");
+    this.settings = new AtomicReference<>(fetch());
+
+    Duration refreshInterval =
+        environment.getProperty(REFRESH_INTERVAL_PARAM, Duration.class, DEFAULT_REFRESH_INTERVAL);
+    this.refresher = Flux.interval(refreshInterval, refreshInterval).subscribe(tick -> refresh());
   }
 
-  private SecretsManagerClient initializeSecretsManagerClient() {
+  private SecretsManagerAsyncClient initializeSecretsManagerClient() {
     String region = assertRequiredEnvironmentParam(AWS_REGION, "AWS Region is not defined");
-    return SecretsManagerClient.builder().region(Region.of(region)).build();
+    return SecretsManagerAsyncClient.builder().region(Region.of(region)).build();
   }
 
   @Override
   public CacheConnectionSettings provide() {
     try {
-      return objectMapper.readValue(getSecretJson(), CacheConnectionSettings.class);
-    } catch (IOException e) {
+      return settings.get().get(FETCH_TIMEOUT.toMillis(), TimeUnit.MILLISECONDS);
+    } catch (ExecutionException e) {
+      throw new AWSException(e.getCause());
+    } catch (TimeoutException e) {
+      throw new AWSException("Cache secret was not fetched in time", e);
+    } catch (InterruptedException e) {
+      Thread.currentThread().interrupt();
       throw new AWSException(e);
     }
   }
 
-  private String getSecretJson() {
-    String secretName =
-        assertRequiredEnvironmentParam(
-            AWS_CACHE_SECRET_NAME_PARAM, "AWS Cache Secret Name is not defined");
+  @Override
+  public RedisCredentialsProvider credentialsProvider() {
+    // Never blocks the event loop, and a cancelled connect must not cancel the shared fetch
+    return () ->
+        Mono.fromFuture(settings::get, true)
+            .map(current -> RedisCredentials.just(current.getUsername(), current.getPassword()));
+  }
 
+  private CompletableFuture<CacheConnectionSettings> fetch() {
+    GetSecretValueRequest request = GetSecretValueRequest.builder().secretId(secretName).build();
+    return secretsManagerClient.getSecretValue(request).thenApply(this::parse);
+  }
+
+  private void refresh() {
+    fetch()
+        .whenComplete(
+            (fresh, e) -> {
+              if (Objects.nonNull(e)) {
+                log.warn("Cache secret refresh failed, keeping the current credentials", e);
+                return;
+              }
+              CompletableFuture<CacheConnectionSettings> previous =
+                  settings.getAndSet(CompletableFuture.completedFuture(fresh));
+              if (previous.isDone()
+                  && !previous.isCompletedExceptionally()
+                  && isRotated(previous.join(), fresh)) {
+                log.info("Cache credentials rotated, new connections use the new ones");
+              }
+            });
+  }
+
+  private static boolean isRotated(
+      CacheConnectionSettings previous, CacheConnectionSettings fresh) {
+    return !Objects.equals(previous.getUsername(), fresh.getUsername())
+        || !Objects.equals(previous.getPassword(), fresh.getPassword());
+  }
+
+  private CacheConnectionSettings parse(GetSecretValueResponse response) {
     try {
-      GetSecretValueRequest request = GetSecretValueRequest.builder().secretId(secretName).build();
-      GetSecretValueResponse response = secretsManagerClient.getSecretValue(request);
-
-      if (response.secretString() != null) {
-        return response.secretString();
-      }
-      return new String(
-          Base64.getDecoder().decode(response.secretBinary().asByteBuffer()).array(),
-          StandardCharsets.UTF_8);
-    } catch (DecryptionFailureException
-        | InternalServiceErrorException
-        | InvalidParameterException
-        | InvalidRequestException
-        | ResourceNotFoundException e) {
+      return objectMapper.readValue(getSecretJson(response), CacheConnectionSettings.class);
+    } catch (IOException e) {
       throw new AWSException(e);
     }
   }
 
+  private String getSecretJson(GetSecretValueResponse response) {
+    if (response.secretString() != null) {
+      return response.secretString();
+    }
+    return new String(
+        Base64.getDecoder().decode(response.secretBinary().asByteBuffer()).array(),
+        StandardCharsets.UTF_8);
+  }
+
   private String assertRequiredEnvironmentParam(String paramName, String errorMsg) {
     return Optional.ofNullable(environment.getProperty(paramName))
         .orElseThrow(() -> new ConfigurationException(errorMsg));
   }
+
+  @Override
+  public void destroy() {
+    refresher.dispose();
+    secretsManagerClient.close();
+  }
 }
@@ -5,12 +5,17 @@ import java.util.Date;
 import lombok.AllArgsConstructor;
 import lombok.Builder;
 import lombok.Data;
+import lombok.NoArgsConstructor;
 
 @Data
 @Builder
+@NoArgsConstructor
 @AllArgsConstructor
 public class ValidateTokenResponseDto {
   private boolean valid;
   private Date expiresAt;
+  // The jti and iat claims, used to honour revocations
+  private String tokenId;
+  private Date issuedAt;
   private UserDto user;
 }
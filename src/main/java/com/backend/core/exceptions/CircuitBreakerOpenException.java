@@ -0,0 +1,9 @@
+package com.backend.core.exceptions;
+
+public class CircuitBreakerOpenException extends ServiceUnavailableException {
+  private static final String MSG_TEMPLATE = "Circuit breaker %s is open";
+
+  public CircuitBreakerOpenException(String circuitBreakerName) {
+    super(String.format(MSG_TEMPLATE, circuitBreakerName));
+  }
+}
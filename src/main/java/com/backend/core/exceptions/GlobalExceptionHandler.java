@@ -79,6 +79,18 @@ public class GlobalExceptionHandler {
         .build();
   }
 
+  @ResponseStatus(SERVICE_UNAVAILABLE)
+  @ExceptionHandler(ServiceUnavailableException.class)
+  public ErrorResponseDto handle(ServiceUnavailableException ex, ServerHttpRequest request) {
+    writeLog(ex, request);
+    return ErrorResponseDto.builder()
+        .code(HttpStatus.SERVICE_UNAVAILABLE.value())
+        .error(HttpStatus.SERVICE_UNAVAILABLE.getReasonPhrase())
+        .message(ex.getMessage())
+        .path(request.getURI().getPath())
+        .build();
+  }
+
   @ResponseStatus(UNAUTHORIZED)
   @ExceptionHandler(AuthenticationException.class)
   public ErrorResponseDto handle(AuthenticationException ex, ServerHttpRequest request) {
@@ -190,6 +202,7 @@ public class GlobalExceptionHandler {
       return Level.INFO;
     }
     if (throwable instanceof ValidationException
+        || throwable instanceof ServiceUnavailableException
         || throwable instanceof jakarta.validation.ValidationException
         || throwable instanceof WebExchangeBindException) {
       return Level.WARNING;
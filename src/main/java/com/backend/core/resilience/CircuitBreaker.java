@@ -0,0 +1,150 @@
+package com.backend.core.resilience;
+
+import com.backend.core.exceptions.CircuitBreakerOpenException;
+
+import lombok.extern.slf4j.Slf4j;
+import reactor.core.publisher.Mono;
+
+/**
+ * Count based circuit breaker for reactive calls.
+ *
+ * <p>CLOSED: calls go through and their outcome is recorded in a sliding window. Once the failure
+ * rate crosses the threshold the circuit opens. OPEN: calls fail fast with {@link
+ * CircuitBreakerOpenException} until {@code openDuration} has passed. HALF_OPEN: a few probe calls
+ * go through, the circuit closes when all of them succeed and opens again on the first failure.
+ */
+@Slf4j
+public class CircuitBreaker {
+  public enum State {
+    CLOSED,
+    OPEN,
+    HALF_OPEN
+  }
+
+  private final String name;
+  private final CircuitBreakerSettings settings;
+  // Ring of the latest outcomes, true for a failure
+  private final boolean[] outcomes;
+  private int nextOutcome;
+  private int recordedCalls;
+  private int failedCalls;
+  private volatile State state = State.CLOSED;
+  private long openedAtMillis;
+  private int probesInFlight;
+  private int probesSucceeded;
+
+  public CircuitBreaker(String name, CircuitBreakerSettings settings) {
+    this.name = name;
+    this.settings = settings;
+    this.outcomes = new boolean[settings.getSlidingWindowSize()];
+  }
+
+  public State getState() {
+    return state;
+  }
+
+  /** Subscribes to {@code call} only if the circuit lets it through and records its outcome. */
+  public <T> Mono<T> protect(Mono<T> call) {
+    return Mono.defer(
+        () -> {
+          if (!tryAcquirePermission()) {
+            return Mono.error(new CircuitBreakerOpenException(name));
+          }
+          return call.doOnSuccess(value -> onSuccess())
+              .doOnError(e -> onError())
+              .doOnCancel(this::onCancel);
+        });
+  }
+
+  public boolean tryAcquirePermission() {
+    // Lock free on the hot path, the circuit is closed nearly all the time
+    if (state == State.CLOSED) {
+      return true;
+    }
+    synchronized (this) {
+      if (state == State.OPEN) {
+        if (System.currentTimeMillis() - openedAtMillis < settings.getOpenDuration().toMillis()) {
+          return false;
+        }
+        transitionTo(State.HALF_OPEN);
+      }
+      if (state == State.HALF_OPEN) {
+        if (probesInFlight >= settings.getHalfOpenProbes()) {
+          return false;
+        }
+        probesInFlight++;
+      }
+      return true;
+    }
+  }
+
+  public synchronized void onSuccess() {
+    if (state == State.OPEN) {
+      // Admitted before the circuit opened, the window starts over once it closes anyway
+      return;
+    }
+    if (state == State.HALF_OPEN) {
+      // Calls admitted before the circuit opened may still finish while half-open
+      probesInFlight = Math.max(0, probesInFlight - 1);
+      probesSucceeded++;
+      if (probesSucceeded >= settings.getHalfOpenProbes()) {
+        transitionTo(State.CLOSED);
+      }
+      return;
+    }
+    record(false);
+  }
+
+  public synchronized void onError() {
+    if (state == State.OPEN) {
+      // Admitted before the circuit opened, reopening would push the open window out
+      return;
+    }
+    if (state == State.HALF_OPEN) {
+      transitionTo(State.OPEN);
+      return;
+    }
+    record(true);
+    if (recordedCalls >= settings.getMinimumCalls()
+        && (double) failedCalls / recordedCalls >= settings.getFailureRateThreshold()) {
+      transitionTo(State.OPEN);
+    }
+  }
+
+  private synchronized void onCancel() {
+    // A cancelled probe says nothing about the downstream, give its slot back
+    if (state == State.HALF_OPEN && probesInFlight > 0) {
+      probesInFlight--;
+    }
+  }
+
+  private void record(boolean failure) {
+    if (recordedCalls == outcomes.length) {
+      if (outcomes[nextOutcome]) {
+        failedCalls--;
+      }
+    } else {
+      recordedCalls++;
+    }
+    outcomes[nextOutcome] = failure;
+    if (failure) {
+      failedCalls++;
+    }
+    nextOutcome = (nextOutcome + 1) % outcomes.length;
+  }
+
+  private void transitionTo(State newState) {
+    log.warn("Circuit breaker {} changed state from {} to {}", name, state, newState);
+    state = newState;
+    probesInFlight = 0;
+    probesSucceeded = 0;
+    if (newState == State.OPEN) {
+      openedAtMillis = System.currentTimeMillis();
+    }
+    if (newState == State.CLOSED) {
+      nextOutcome = 0;
+      recordedCalls = 0;
+      failedCalls = 0;
+    }
+  }
+}
@@ -0,0 +1,25 @@
+package com.backend.core.resilience;
+
+import java.time.Duration;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@Builder
+@AllArgsConstructor
+@NoArgsConstructor
+public class CircuitBreakerSettings {
+  // Share of failed calls in the window that opens the circuit
+  @Builder.Default private double failureRateThreshold = 0.5;
+  // Number of most recent calls the failure rate is computed over
+  @Builder.Default private int slidingWindowSize = 50;
+  // Below this many recorded calls the circuit never opens
+  @Builder.Default private int minimumCalls = 20;
+  // How long calls are rejected before probing again
+  @Builder.Default private Duration openDuration = Duration.ofSeconds(10);
+  // Probe calls let through while half-open, all of them must succeed to close the circuit
+  @Builder.Default private int halfOpenProbes = 3;
+}
@@ -0,0 +1,122 @@
+package com.backend.core.resilience;
+
+import java.time.Duration;
+import java.util.Arrays;
+import java.util.Objects;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.function.Supplier;
+
+import reactor.core.publisher.Mono;
+import reactor.core.publisher.Sinks;
+
+/**
+ * Sends a second, hedged request when the first one is slower than most recent calls.
+ *
+ * <p>The hedge delay is a percentile of the latencies observed over the last calls, so only the
+ * tail gets hedged. The first request to succeed wins and the other one is cancelled; the call
+ * only fails when both requests failed. Hedges are
+ * paid for from a budget every call adds {@code maxHedgeRatio} to, which caps the extra load on
+ * the downstream even when it is slow across the board.
+ */
+public class Hedging {
+  // Budget left over from a quiet period, bounds a burst of hedges once calls get slow
+  private static final double MAX_BUDGET = 10;
+  private static final long DELAY_RECOMPUTE_NANOS = Duration.ofSeconds(1).toNanos();
+
+  private final HedgingSettings settings;
+  // Ring of the latest latencies in nanos
+  private final long[] latencies;
+  private int nextLatency;
+  private int recordedLatencies;
+  private double budget;
+  private volatile long delayNanos;
+  private volatile long delayComputedAt;
+
+  public Hedging(HedgingSettings settings) {
+    this.settings = settings;
+    this.latencies = new long[settings.getSampleSize()];
+    this.delayNanos = settings.getInitialDelay().toNanos();
+    this.delayComputedAt = System.nanoTime();
+  }
+
+  /** Calls {@code call} once, and a second time if the first call is slow and budget is left. */
+  public <T> Mono<T> hedge(Supplier<Mono<T>> call) {
+    if (!settings.isEnabled()) {
+      return Mono.defer(call);
+    }
+    return Mono.defer(
+        () -> {
+          deposit();
+          Duration delay = Duration.ofNanos(currentDelay());
+          AtomicReference<Throwable> primaryError = new AtomicReference<>();
+          Sinks.One<Boolean> primaryFailed = Sinks.one();
+          Mono<T> primary =
+              timed(call.get())
+                  .doOnError(
+                      e -> {
+                        primaryError.set(e);
+                        primaryFailed.tryEmitValue(true);
+                      });
+          // A primary failing before the delay is not hedged, that would be a retry
+          Mono<T> hedged =
+              Mono.delay(delay)
+                  .takeUntilOther(primaryFailed.asMono())
+                  .filter(tick -> tryWithdraw())
+                  .flatMap(tick -> timed(call.get()));
+          // Once both attempts failed the primary's error is the one reported
+          return Mono.firstWithValue(primary, hedged)
+              .onErrorMap(e -> Objects.isNull(primaryError.get()) ? e : primaryError.get());
+        });
+  }
+
+  private <T> Mono<T> timed(Mono<T> call) {
+    return Mono.defer(
+        () -> {
+          long start = System.nanoTime();
+          return call.doOnSuccess(value -> record(System.nanoTime() - start));
+        });
+  }
+
+  private synchronized void deposit() {
+    budget = Math.min(MAX_BUDGET, budget + settings.getMaxHedgeRatio());
+  }
+
+  private synchronized boolean tryWithdraw() {
+    if (budget < 1) {
+      return false;
+    }
+    budget--;
+    return true;
+  }
+
+  private synchronized void record(long latencyNanos) {
+    latencies[nextLatency] = latencyNanos;
+    nextLatency = (nextLatency + 1) % latencies.length;
+    recordedLatencies = Math.min(recordedLatencies + 1, latencies.length);
+  }
+
+  private long currentDelay() {
+    long now = System.nanoTime();
+    if (now - delayComputedAt >= DELAY_RECOMPUTE_NANOS) {
+      delayComputedAt = now;
+      delayNanos = computeDelay();
+    }
+    return delayNanos;
+  }
+
+  private long computeDelay() {
+    long[] sample;
+    synchronized (this) {
+      // Too few calls yet for a meaningful percentile
+      if (recordedLatencies < Math.min(100, latencies.length)) {
+        return settings.getInitialDelay().toNanos();
+      }
+      sample = Arrays.copyOf(latencies, recordedLatencies);
+    }
+    Arrays.sort(sample);
+    int index = (int) Math.ceil(settings.getPercentile() * sample.length) - 1;
+    long percentile = sample[Math.max(0, Math.min(index, sample.length - 1))];
+    return Math.max(
+        settings.getMinDelay().toNanos(), Math.min(settings.getMaxDelay().toNanos(), percentile));
+  }
+}
@@ -0,0 +1,27 @@
+package com.backend.core.resilience;
+
+import java.time.Duration;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@Builder
+@AllArgsConstructor
+@NoArgsConstructor
+public class HedgingSettings {
+  @Builder.Default private boolean enabled = false;
+  // Latency percentile of recent calls after which a second request is sent
+  @Builder.Default private double percentile = 0.95;
+  // Bounds of the hedge delay, whatever the observed latencies
+  @Builder.Default private Duration minDelay = Duration.ofMillis(10);
+  @Builder.Default private Duration maxDelay = Duration.ofSeconds(1);
+  // Used until enough latencies were observed
+  @Builder.Default private Duration initialDelay = Duration.ofMillis(100);
+  // Number of most recent latencies the percentile is computed over
+  @Builder.Default private int sampleSize = 1_000;
+  // Upper bound on hedged requests as a share of all calls
+  @Builder.Default private double maxHedgeRatio = 0.05;
+}
@@ -0,0 +1,178 @@
+package com.backend.core.security;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+
+import org.springframework.beans.factory.SmartInitializingSingleton;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.server.PathContainer;
+import org.springframework.stereotype.Component;
+import org.springframework.web.bind.annotation.RequestMethod;
+import org.springframework.web.method.HandlerMethod;
+import org.springframework.web.reactive.result.method.RequestMappingInfo;
+import org.springframework.web.reactive.result.method.annotation.RequestMappingHandlerMapping;
+import org.springframework.web.server.ServerWebExchange;
+import org.springframework.web.util.pattern.PathPattern;
+
+import com.backend.core.annotations.Anonymous;
+
+import lombok.extern.slf4j.Slf4j;
+import reactor.core.publisher.Mono;
+
+/**
+ * Tells whether a request targets an {@link Anonymous} handler without resolving the handler.
+ *
+ * <p>All request mappings are compiled once at startup into routes indexed by their first literal
+ * path segment, so a request is only matched against the few routes that can apply to it. The
+ * most specific matching route decides, as it does for the dispatcher. Only when that route also
+ * depends on params, headers or media types, which the table does not model, the handler mapping
+ * is asked. Equally specific routes are ranked conditional ones first, then by pattern and handler,
+ * so the outcome does not depend on the order the mappings were registered in.
+ */
+@Slf4j
+@Component
+public class AnonymousRouteTable implements SmartInitializingSingleton {
+  // Bucket of patterns starting with a variable or a wildcard, they can match any first segment
+  private static final String ANY_SEGMENT = "";
+
+  // Conditional routes first, a request they do not accept is resolved by the handler mapping
+  private static final Comparator<Route> PRECEDENCE =
+      Comparator.comparing(Route::pattern, PathPattern.SPECIFICITY_COMPARATOR)
+          .thenComparing(route -> !route.conditional())
+          .thenComparing(route -> route.pattern().getPatternString())
+          .thenComparing(route -> route.handler().toString());
+
+  private final RequestMappingHandlerMapping handlerMapping;
+  private volatile Map<String, List<Route>> routesBySegment = Collections.emptyMap();
+
+  public AnonymousRouteTable(
+      @Qualifier("requestMappingHandlerMapping") RequestMappingHandlerMapping handlerMapping) {
+    this.handlerMapping = handlerMapping;
+  }
+
+  private record Route(
+      PathPattern pattern,
+      Set<RequestMethod> methods,
+      HandlerMethod handler,
+      boolean anonymous,
+      boolean conditional) {}
+
+  @Override
+  public void afterSingletonsInstantiated() {
+    Map<String, List<Route>> routes = new HashMap<>();
+    int anonymousRoutes = 0;
+    for (Map.Entry<RequestMappingInfo, HandlerMethod> mapping :
+        handlerMapping.getHandlerMethods().entrySet()) {
+      RequestMappingInfo info = mapping.getKey();
+      HandlerMethod handler = mapping.getValue();
+      boolean anonymous = hasAnonymousAnnotation(handler);
+      for (PathPattern pattern : info.getPatternsCondition().getPatterns()) {
+        Route route =
+            new Route(
+                pattern,
+                info.getMethodsCondition().getMethods(),
+                handler,
+                anonymous,
+                isConditional(info));
+        routes.computeIfAbsent(firstSegment(pattern), k -> new ArrayList<>()).add(route);
+        anonymousRoutes += anonymous ? 1 : 0;
+      }
+    }
+    routesBySegment = routes;
+    log.info("Compiled {} anonymous routes", anonymousRoutes);
+  }
+
+  public Mono<Boolean> isAnonymous(ServerWebExchange exchange) {
+    PathContainer path = exchange.getRequest().getPath().pathWithinApplication();
+    HttpMethod method = exchange.getRequest().getMethod();
+    Route best = bestMatch(candidates(path), path, method);
+    if (Objects.isNull(best)) {
+      return Mono.just(false);
+    }
+    if (best.conditional()) {
+      return handlerMapping
+          .getHandler(exchange)
+          .ofType(HandlerMethod.class)
+          .map(AnonymousRouteTable::hasAnonymousAnnotation)
+          .defaultIfEmpty(false);
+    }
+    return Mono.just(best.anonymous());
+  }
+
+  private List<Route> candidates(PathContainer path) {
+    Map<String, List<Route>> routes = routesBySegment;
+    List<Route> wildcard = routes.getOrDefault(ANY_SEGMENT, Collections.emptyList());
+    List<Route> literal = routes.getOrDefault(firstSegment(path), Collections.emptyList());
+    if (wildcard.isEmpty()) {
+      return literal;
+    }
+    List<Route> candidates = new ArrayList<>(literal);
+    candidates.addAll(wildcard);
+    return candidates;
+  }
+
+  private static Route bestMatch(List<Route> candidates, PathContainer path, HttpMethod method) {
+    Route best = null;
+    for (Route route : candidates) {
+      if (!matchesMethod(route, method) || !route.pattern().matches(path)) {
+        continue;
+      }
+      if (Objects.isNull(best) || PRECEDENCE.compare(route, best) < 0) {
+        best = route;
+      }
+    }
+    return best;
+  }
+
+  private static boolean matchesMethod(Route route, HttpMethod method) {
+    if (route.methods().isEmpty()) {
+      return true;
+    }
+    RequestMethod requestMethod = RequestMethod.resolve(method);
+    if (Objects.isNull(requestMethod)) {
+      return false;
+    }
+    // HEAD is served by GET handlers
+    return route.methods().contains(requestMethod)
+        || (requestMethod == RequestMethod.HEAD && route.methods().contains(RequestMethod.GET));
+  }
+
+  private static boolean isConditional(RequestMappingInfo info) {
+    return !info.getParamsCondition().isEmpty()
+        || !info.getHeadersCondition().isEmpty()
+        || !info.getConsumesCondition().isEmpty()
+        || !info.getProducesCondition().isEmpty()
+        || Objects.nonNull(info.getCustomCondition());
+  }
+
+  private static String firstSegment(PathPattern pattern) {
+    String patternString = pattern.getPatternString();
+    int start = patternString.startsWith("/") ? 1 : 0;
+    int end = patternString.indexOf('/', start);
+    String segment = patternString.substring(start, end < 0 ? patternString.length() : end);
+    boolean literal =
+        segment.indexOf('{') < 0 && segment.indexOf('*') < 0 && segment.indexOf('?') < 0;
+    return literal ? segment : ANY_SEGMENT;
+  }
+
+  private static String firstSegment(PathContainer path) {
+    for (PathContainer.Element element : path.elements()) {
+      if (element instanceof PathContainer.PathSegment segment) {
+        return segment.valueToMatch();
+      }
+    }
+    return ANY_SEGMENT;
+  }
+
+  private static boolean hasAnonymousAnnotation(HandlerMethod handlerMethod) {
+    return handlerMethod.hasMethodAnnotation(Anonymous.class)
+        || handlerMethod.getBeanType().isAnnotationPresent(Anonymous.class);
+  }
+}
@@ -1,41 +1,104 @@
 package com.backend.core.security;
 
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.Map;
 import java.util.Objects;
+import java.util.Set;
 
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.data.redis.core.ReactiveRedisTemplate;
 import org.springframework.security.core.Authentication;
-import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.security.core.context.ReactiveSecurityContextHolder;
+import org.springframework.security.core.context.SecurityContext;
 import org.springframework.stereotype.Service;
 
+import com.backend.core.cache.CacheEventBus;
+import com.backend.core.cache.ReactiveCacheTemplate;
+import com.backend.core.dtos.UserDto;
+import com.backend.core.exceptions.ConfigurationException;
+import com.backend.core.security.settings.AuthorizationSettings;
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
 import lombok.extern.slf4j.Slf4j;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
 
 /**
  * Service providing authorization checks for use with @PreAuthorize annotations.
  *
  * <p>Example usage: @PreAuthorize("@authorizationService.hasAccessToResource(#resourceId)") public
- * void someMethod(Long resourceId) { ... }
+ * Mono<Item> someMethod(Long resourceId) { ... }
+ *
+ * <p>Checks read the user from the reactive security context and return {@code Mono<Boolean>},
+ * which reactive method security resolves. Membership checks ask the {@link MembershipProvider} of
+ * the resource type for all the user's resources at once; the result is cached in-process and in
+ * Redis, so further checks and {@link #filterAccessible} cost no I/O. Call {@link
+ * #evictMemberships} when a membership changes.
  */
 @Service
 @Slf4j
-public class AuthorizationService {
+public class AuthorizationService implements DisposableBean {
+  private static final String STORE = "store";
+  private static final String KEY_PREFIX = "authz:";
+
+  private final Map<String, MembershipProvider> providers = new HashMap<>();
+  // Empty without Redis, memberships are then loaded on every check
+  private final Map<String, ReactiveCacheTemplate<Set<Long>>> memberships = new HashMap<>();
+
+  public AuthorizationService(
+      ObjectProvider<MembershipProvider> membershipProviders,
+      ObjectProvider<ReactiveRedisTemplate<String, byte[]>> reactiveBytesRedisTemplate,
+      ObjectProvider<CacheEventBus> cacheEventBus,
+      ObjectMapper objectMapper,
+      AuthorizationSettings settings) {
+    ReactiveRedisTemplate<String, byte[]> redis = reactiveBytesRedisTemplate.getIfAvailable();
+    membershipProviders
+        .orderedStream()
+        .forEach(
+            provider -> {
+              if (Objects.nonNull(providers.putIfAbsent(provider.resourceType(), provider))) {
+                throw new ConfigurationException(
+                    "More than one membership provider for " + provider.resourceType());
+              }
+              if (Objects.nonNull(redis)) {
+                memberships.put(
+                    provider.resourceType(),
+                    ReactiveCacheTemplate.<Set<Long>>builder()
+                        .redis(redis)
+                        .mapper(objectMapper)
+                        .keyPrefix(KEY_PREFIX + provider.resourceType() + ":")
+                        .ttl(settings.getMembershipTtl())
+                        .type(new TypeReference<>() {})
+                        .nearCache(settings.getNearCache())
+                        .eventBus(cacheEventBus.getIfAvailable())
+                        .build());
+              }
+            });
+  }
 
   /**
-   * Gets the currently authenticated user ID.
+   * Gets the currently authenticated user.
    *
-   * @return the user ID, or null if not authenticated
+   * @return the user, or empty if not authenticated
    */
-  public Long getCurrentUserId() {
-    Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
-
-    if (authentication == null || !authentication.isAuthenticated()) {
-      return null;
-    }
-
-    Object principal = authentication.getPrincipal();
-    if (principal instanceof Long) {
-      return (Long) principal;
-    }
+  public Mono<UserDto> getCurrentUser() {
+    return ReactiveSecurityContextHolder.getContext()
+        .map(SecurityContext::getAuthentication)
+        .filter(Authentication::isAuthenticated)
+        .map(Authentication::getPrincipal)
+        .ofType(UserDto.class);
+  }
 
-    return null;
+  /**
+   * Gets the currently authenticated user ID.
+   *
+   * @return the user ID, or empty if not authenticated
+   */
+  public Mono<String> getCurrentUserId() {
+    return getCurrentUser().mapNotNull(UserDto::getId);
   }
 
   /**
@@ -43,8 +106,8 @@ public class AuthorizationService {
    *
    * @return true if user is authenticated, false otherwise
    */
-  public boolean isAuthenticated() {
-    return getCurrentUserId() != null;
+  public Mono<Boolean> isAuthenticated() {
+    return getCurrentUserId().hasElement();
   }
 
   /**
@@ -53,23 +116,21 @@ public class AuthorizationService {
    * @param resourceOwnerId the ID of the resource owner
    * @return true if current user owns the resource, false otherwise
    */
-  public boolean hasAccessToResource(Long resourceOwnerId) {
-    Long currentUserId = getCurrentUserId();
-
-    if (currentUserId == null || resourceOwnerId == null) {
-      log.debug(
-          "Access denied: currentUserId={}, resourceOwnerId={}", currentUserId, resourceOwnerId);
-      return false;
-    }
-
-    boolean hasAccess = Objects.equals(currentUserId, resourceOwnerId);
-    log.debug(
-        "Access check: currentUserId={}, resourceOwnerId={}, hasAccess={}",
-        currentUserId,
-        resourceOwnerId,
-        hasAccess);
-
-    return hasAccess;
+  public Mono<Boolean> hasAccessToResource(Long resourceOwnerId) {
+    return getCurrentUserId()
+        .map(
+            currentUserId -> {
+              boolean hasAccess =
+                  Objects.nonNull(resourceOwnerId)
+                      && currentUserId.equals(String.valueOf(resourceOwnerId));
+              log.debug(
+                  "Access check: currentUserId={}, resourceOwnerId={}, hasAccess={}",
+                  currentUserId,
+                  resourceOwnerId,
+                  hasAccess);
+              return hasAccess;
+            })
+        .defaultIfEmpty(false);
   }
 
   /**
@@ -79,7 +140,7 @@ public class AuthorizationService {
    * @param ownerId the ID of the resource owner
    * @return true if current user is the owner, false otherwise
    */
-  public boolean isOwner(Long ownerId) {
+  public Mono<Boolean> isOwner(Long ownerId) {
     return hasAccessToResource(ownerId);
   }
 
@@ -89,33 +150,58 @@ public class AuthorizationService {
    * @param userId the user ID to check
    * @return true if current user matches the provided ID, false otherwise
    */
-  public boolean isSameUser(Long userId) {
+  public Mono<Boolean> isSameUser(Long userId) {
     return hasAccessToResource(userId);
   }
 
   /**
-   * Example method for checking access to a store. Customize this based on your business logic.
+   * Checks if the current user is a member of a resource, e.g. works at a store.
    *
-   * @param storeId the store ID to check access for
-   * @return true if user has access to the store, false otherwise
+   * @param resourceType the type the {@link MembershipProvider} answers for
+   * @param resourceId the resource ID to check access for
+   * @return true if user is a member of the resource, false otherwise
    */
-  public boolean hasAccessToStore(Long storeId) {
-    Long currentUserId = getCurrentUserId();
-
-    if (currentUserId == null || storeId == null) {
-      return false;
+  public Mono<Boolean> hasMembership(String resourceType, Long resourceId) {
+    if (Objects.isNull(resourceId)) {
+      return Mono.just(false);
     }
+    return currentMemberships(resourceType)
+        .map(resourceIds -> resourceIds.contains(resourceId))
+        .defaultIfEmpty(false);
+  }
 
-    // TODO: Implement your store access logic here
-    // This might involve checking:
-    // - If user owns the store
-    // - If user is an employee of the store
-    // - If user has been granted specific permissions
+  /**
+   * Keeps the resources the current user is a member of, in one membership lookup for the whole
+   * list.
+   *
+   * @param resourceType the type the {@link MembershipProvider} answers for
+   * @param resourceIds the resource IDs to filter
+   * @return the accessible resource IDs, in their original order
+   */
+  public Flux<Long> filterAccessible(String resourceType, Flux<Long> resourceIds) {
+    return currentMemberships(resourceType)
+        .flatMapMany(accessible -> resourceIds.filter(accessible::contains));
+  }
 
-    log.debug("Checking store access: userId={}, storeId={}", currentUserId, storeId);
+  /**
+   * Checks if the current user has access to a store, through the {@code "store"} membership
+   * provider.
+   *
+   * @param storeId the store ID to check access for
+   * @return true if user has access to the store, false otherwise
+   */
+  public Mono<Boolean> hasAccessToStore(Long storeId) {
+    return hasMembership(STORE, storeId);
+  }
 
-    // Placeholder implementation - customize based on your needs
-    return true;
+  /**
+   * Keeps the stores the current user has access to.
+   *
+   * @param storeIds the store IDs to filter
+   * @return the accessible store IDs
+   */
+  public Flux<Long> filterAccessibleStores(Flux<Long> storeIds) {
+    return filterAccessible(STORE, storeIds);
   }
 
   /**
@@ -124,7 +210,7 @@ public class AuthorizationService {
    * @param postOwnerId the ID of the post owner
    * @return true if user can modify the post, false otherwise
    */
-  public boolean canModifyPost(Long postOwnerId) {
+  public Mono<Boolean> canModifyPost(Long postOwnerId) {
     return hasAccessToResource(postOwnerId);
   }
 
@@ -134,7 +220,42 @@ public class AuthorizationService {
    * @param commentOwnerId the ID of the comment owner
    * @return true if user can delete the comment, false otherwise
    */
-  public boolean canDeleteComment(Long commentOwnerId) {
+  public Mono<Boolean> canDeleteComment(Long commentOwnerId) {
     return hasAccessToResource(commentOwnerId);
   }
+
+  /**
+   * Drops the cached memberships of a user on every pod, to be called when they change.
+   *
+   * @param resourceType the type whose memberships changed
+   * @param userId the user whose memberships changed
+   */
+  public Mono<Void> evictMemberships(String resourceType, String userId) {
+    ReactiveCacheTemplate<Set<Long>> cache = memberships.get(resourceType);
+    return Objects.isNull(cache) ? Mono.empty() : cache.evict(userId);
+  }
+
+  private Mono<Set<Long>> currentMemberships(String resourceType) {
+    MembershipProvider provider = providers.get(resourceType);
+    if (Objects.isNull(provider)) {
+      log.debug("Access denied: no membership provider for resourceType={}", resourceType);
+      return Mono.empty();
+    }
+    ReactiveCacheTemplate<Set<Long>> cache = memberships.get(resourceType);
+    return getCurrentUserId()
+        .flatMap(
+            userId ->
+                Objects.isNull(cache)
+                    ? load(provider, userId)
+                    : cache.get(userId, id -> load(provider, id)));
+  }
+
+  @Override
+  public void destroy() {
+    memberships.values().forEach(ReactiveCacheTemplate::close);
+  }
+
+  private static Mono<Set<Long>> load(MembershipProvider provider, String userId) {
+    return provider.loadMemberships(userId).defaultIfEmpty(Collections.emptySet());
+  }
 }
@@ -0,0 +1,111 @@
+package com.backend.core.security;
+
+import java.security.Key;
+import java.time.Duration;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Objects;
+
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+import org.springframework.web.reactive.function.client.WebClient;
+
+import com.backend.core.security.settings.TokenValidationSettings;
+
+import io.jsonwebtoken.security.Jwk;
+import io.jsonwebtoken.security.JwkSet;
+import io.jsonwebtoken.security.Jwks;
+import lombok.extern.slf4j.Slf4j;
+import reactor.core.Disposable;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+/**
+ * Signing keys published by users-management as a JWKS, indexed by key id.
+ *
+ * <p>The set is reloaded periodically. A token signed with a key id that is not known yet usually
+ * means the keys were rotated, so it triggers a reload too, at most once per {@code
+ * jwksMinRefetch} so tokens with made-up key ids cannot hammer users-management.
+ */
+@Slf4j
+@Component
+@ConditionalOnProperty(prefix = "security.token-validation", name = "local-verification")
+public class JwksKeyStore implements DisposableBean {
+  private final WebClient webClient;
+  private final TokenValidationSettings settings;
+  private volatile Map<String, Key> keys = Map.of();
+  private volatile long lastFetchMillis;
+  // Guarded by this, shared by concurrent reloads
+  private Mono<Map<String, Key>> inFlightFetch;
+  private final Disposable refresher;
+
+  public JwksKeyStore(
+      WebClient.Builder webClientBuilder,
+      @Value("${services.users-management.url:http://localhost:8090}") String usersManagementUrl,
+      TokenValidationSettings settings) {
+    this.webClient = webClientBuilder.baseUrl(usersManagementUrl).build();
+    this.settings = settings;
+    this.refresher =
+        Flux.interval(Duration.ZERO, settings.getJwksRefresh())
+            .concatMap(tick -> fetch().onErrorResume(e -> Mono.empty()))
+            .subscribe();
+  }
+
+  /** Emits the key, or completes empty when users-management does not know the key id either. */
+  public Mono<Key> getKey(String keyId) {
+    Key key = keys.get(keyId);
+    if (Objects.nonNull(key)) {
+      return Mono.just(key);
+    }
+    if (System.currentTimeMillis() - lastFetchMillis < settings.getJwksMinRefetch().toMillis()) {
+      return Mono.empty();
+    }
+    return fetch().mapNotNull(fetched -> fetched.get(keyId)).onErrorResume(e -> Mono.empty());
+  }
+
+  private synchronized Mono<Map<String, Key>> fetch() {
+    if (Objects.isNull(inFlightFetch)) {
+      inFlightFetch = load().doFinally(signal -> fetchDone()).cache();
+    }
+    return inFlightFetch;
+  }
+
+  private synchronized void fetchDone() {
+    lastFetchMillis = System.currentTimeMillis();
+    inFlightFetch = null;
+  }
+
+  private Mono<Map<String, Key>> load() {
+    return webClient
+        .get()
+        .uri(settings.getJwksPath())
+        .retrieve()
+        .bodyToMono(String.class)
+        .map(this::parse)
+        .doOnNext(
+            loaded -> {
+              keys = loaded;
+              log.info("Loaded {} token signing keys", loaded.size());
+            })
+        .doOnError(e -> log.warn("Token signing keys could not be loaded", e));
+  }
+
+  private Map<String, Key> parse(String json) {
+    JwkSet jwkSet = Jwks.setParser().build().parse(json);
+    Map<String, Key> parsed = new HashMap<>();
+    for (Jwk<?> jwk : jwkSet.getKeys()) {
+      // Tokens name their key, a key without an id could never be picked
+      if (Objects.nonNull(jwk.getId())) {
+        parsed.put(jwk.getId(), jwk.toKey());
+      }
+    }
+    return Map.copyOf(parsed);
+  }
+
+  @Override
+  public void destroy() {
+    refresher.dispose();
+  }
+}
@@ -3,20 +3,14 @@ package com.backend.core.security;
 import java.util.Collections;
 import java.util.Objects;
 
-import org.springframework.beans.factory.annotation.Qualifier;
 import org.springframework.http.HttpHeaders;
 import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
 import org.springframework.security.core.context.ReactiveSecurityContextHolder;
 import org.springframework.stereotype.Component;
-import org.springframework.web.method.HandlerMethod;
-import org.springframework.web.reactive.result.method.annotation.RequestMappingHandlerMapping;
 import org.springframework.web.server.ServerWebExchange;
 import org.springframework.web.server.WebFilter;
 import org.springframework.web.server.WebFilterChain;
 
-import com.backend.core.annotations.Anonymous;
-import com.backend.core.dtos.ValidateTokenRequestDto;
-
 import lombok.extern.slf4j.Slf4j;
 import reactor.core.publisher.Mono;
 
@@ -26,17 +20,17 @@ public class JwtTokenAuthenticationFilter implements WebFilter {
   private static final String BEARER = "Bearer ";
   private static final String ACTUATOR_ENDPOINT = "/actuator";
   private static final String HEALTH_ENDPOINT = "/health";
-  private final UserClient userClient;
+  private final TokenValidationService tokenValidationService;
   private final CustomAuthenticationEntryPoint authenticationEntryPoint;
-  private final RequestMappingHandlerMapping handlerMapping;
+  private final AnonymousRouteTable anonymousRouteTable;
 
   public JwtTokenAuthenticationFilter(
-      UserClient userClient,
+      TokenValidationService tokenValidationService,
       CustomAuthenticationEntryPoint authenticationEntryPoint,
-      @Qualifier("requestMappingHandlerMapping") RequestMappingHandlerMapping handlerMapping) {
-    this.userClient = userClient;
+      AnonymousRouteTable anonymousRouteTable) {
+    this.tokenValidationService = tokenValidationService;
     this.authenticationEntryPoint = authenticationEntryPoint;
-    this.handlerMapping = handlerMapping;
+    this.anonymousRouteTable = anonymousRouteTable;
   }
 
   @Override
@@ -45,7 +39,8 @@ public class JwtTokenAuthenticationFilter implements WebFilter {
       return chain.filter(exchange);
     }
 
-    return isAnonymous(exchange)
+    return anonymousRouteTable
+        .isAnonymous(exchange)
         .flatMap(
             isAnonymous -> {
               if (Boolean.TRUE.equals(isAnonymous)) {
@@ -62,10 +57,9 @@ public class JwtTokenAuthenticationFilter implements WebFilter {
     }
 
     String token = authHeader.substring(BEARER.length());
-    ValidateTokenRequestDto validateTokenRequest = new ValidateTokenRequestDto(token);
 
-    return userClient
-        .validateToken(validateTokenRequest)
+    return tokenValidationService
+        .validate(token)
         .flatMap(
             validationResult -> {
               if (Objects.nonNull(validationResult) && validationResult.isValid()) {
@@ -88,19 +82,6 @@ public class JwtTokenAuthenticationFilter implements WebFilter {
             });
   }
 
-  private Mono<Boolean> isAnonymous(ServerWebExchange exchange) {
-    return handlerMapping
-        .getHandler(exchange)
-        .ofType(HandlerMethod.class)
-        .map(this::hasAnonymousAnnotation)
-        .defaultIfEmpty(false);
-  }
-
-  private boolean hasAnonymousAnnotation(HandlerMethod handlerMethod) {
-    return handlerMethod.hasMethodAnnotation(Anonymous.class)
-        || handlerMethod.getBeanType().isAnnotationPresent(Anonymous.class);
-  }
-
   private boolean isActuatorRequest(ServerWebExchange exchange) {
     String path = exchange.getRequest().getURI().getPath();
     return path.startsWith(ACTUATOR_ENDPOINT) || path.startsWith(HEALTH_ENDPOINT);
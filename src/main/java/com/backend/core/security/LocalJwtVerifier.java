@@ -0,0 +1,120 @@
+package com.backend.core.security;
+
+import java.io.IOException;
+import java.security.Key;
+import java.security.PublicKey;
+import java.util.Base64;
+import java.util.Objects;
+
+import org.apache.commons.lang3.StringUtils;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+
+import com.backend.core.dtos.UserDto;
+import com.backend.core.dtos.ValidateTokenResponseDto;
+import com.backend.core.security.settings.TokenValidationSettings;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+
+import io.jsonwebtoken.Claims;
+import io.jsonwebtoken.JwtException;
+import io.jsonwebtoken.JwtParser;
+import io.jsonwebtoken.JwtParserBuilder;
+import io.jsonwebtoken.Jwts;
+import javax.crypto.SecretKey;
+import lombok.extern.slf4j.Slf4j;
+import reactor.core.publisher.Mono;
+
+/**
+ * Verifies tokens in-process: signature against the key named by the token's {@code kid}, expiry
+ * and, when configured, issuer. The user comes from the {@code sub} and {@code email} claims.
+ *
+ * <p>Tokens that are malformed or name no key id are rejected without any I/O, and so are all
+ * tokens once their key is cached.
+ */
+@Slf4j
+@Component
+@ConditionalOnProperty(prefix = "security.token-validation", name = "local-verification")
+public class LocalJwtVerifier {
+  private static final String EMAIL_CLAIM = "email";
+  private static final String KEY_ID_HEADER = "kid";
+  private static final ValidateTokenResponseDto REJECTED =
+      ValidateTokenResponseDto.builder().valid(false).build();
+
+  private final JwksKeyStore keyStore;
+  private final TokenValidationSettings settings;
+  private final ObjectMapper objectMapper;
+  // Parsers are immutable and thread-safe, one per key; rotated out keys are collected
+  private final Cache<Key, JwtParser> parsers = Caffeine.newBuilder().weakKeys().build();
+
+  public LocalJwtVerifier(
+      JwksKeyStore keyStore, TokenValidationSettings settings, ObjectMapper objectMapper) {
+    this.keyStore = keyStore;
+    this.settings = settings;
+    this.objectMapper = objectMapper;
+  }
+
+  public Mono<ValidateTokenResponseDto> verify(String token) {
+    String keyId = readKeyId(token);
+    if (Objects.isNull(keyId)) {
+      return Mono.just(REJECTED);
+    }
+    return keyStore.getKey(keyId).map(key -> verify(token, key)).defaultIfEmpty(REJECTED);
+  }
+
+  private ValidateTokenResponseDto verify(String token, Key key) {
+    try {
+      Claims claims = parsers.get(key, this::createParser).parseSignedClaims(token).getPayload();
+      // jjwt only checks the expiry when there is one, tokens must not live forever
+      if (Objects.isNull(claims.getExpiration())) {
+        return REJECTED;
+      }
+      return ValidateTokenResponseDto.builder()
+          .valid(true)
+          .expiresAt(claims.getExpiration())
+          .tokenId(claims.getId())
+          .issuedAt(claims.getIssuedAt())
+          .user(
+              UserDto.builder()
+                  .id(claims.getSubject())
+                  .email(claims.get(EMAIL_CLAIM, String.class))
+                  .build())
+          .build();
+    } catch (JwtException | IllegalArgumentException e) {
+      log.debug("Token rejected: {}", e.getMessage());
+      return REJECTED;
+    }
+  }
+
+  private JwtParser createParser(Key key) {
+    JwtParserBuilder builder =
+        Jwts.parser().clockSkewSeconds(settings.getAllowedClockSkew().toSeconds());
+    if (key instanceof PublicKey publicKey) {
+      builder.verifyWith(publicKey);
+    } else {
+      builder.verifyWith((SecretKey) key);
+    }
+    if (StringUtils.isNotBlank(settings.getIssuer())) {
+      builder.requireIssuer(settings.getIssuer());
+    }
+    return builder.build();
+  }
+
+  // The header is read before verification only to pick the key, nothing in it is trusted
+  private String readKeyId(String token) {
+    int headerEnd = token.indexOf('.');
+    if (headerEnd <= 0) {
+      return null;
+    }
+    try {
+      JsonNode header =
+          objectMapper.readTree(Base64.getUrlDecoder().decode(token.substring(0, headerEnd)));
+      JsonNode keyId = header.get(KEY_ID_HEADER);
+      return Objects.isNull(keyId) ? null : keyId.asText();
+    } catch (IOException | IllegalArgumentException e) {
+      return null;
+    }
+  }
+}
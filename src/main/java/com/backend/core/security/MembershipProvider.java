@@ -0,0 +1,19 @@
+package com.backend.core.security;
+
+import java.util.Set;
+
+import reactor.core.publisher.Mono;
+
+/**
+ * Source of the resources of one type a user is a member of, e.g. the stores they work at.
+ *
+ * <p>Implementations are picked up as beans by {@link AuthorizationService}, which caches what they
+ * return. Access to a resource type without a provider is always denied.
+ */
+public interface MembershipProvider {
+  /** Resource type this provider answers for, e.g. {@code "store"}. */
+  String resourceType();
+
+  /** Ids of the resources of {@link #resourceType()} the user is a member of. */
+  Mono<Set<Long>> loadMemberships(String userId);
+}
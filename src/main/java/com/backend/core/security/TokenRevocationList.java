@@ -0,0 +1,173 @@
+package com.backend.core.security;
+
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.ConcurrentHashMap;
+
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.beans.factory.InitializingBean;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.data.domain.Range;
+import org.springframework.data.redis.connection.Limit;
+import org.springframework.data.redis.connection.stream.MapRecord;
+import org.springframework.data.redis.connection.stream.RecordId;
+import org.springframework.data.redis.connection.stream.StreamRecords;
+import org.springframework.data.redis.core.ReactiveRedisTemplate;
+import org.springframework.stereotype.Component;
+
+import com.backend.core.dtos.ValidateTokenResponseDto;
+import com.backend.core.security.settings.TokenRevocationSettings;
+
+import lombok.extern.slf4j.Slf4j;
+import reactor.core.Disposable;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+/**
+ * In-memory view of the token revocations published on a Redis stream, checked on every request.
+ *
+ * <p>An entry revokes either one token, by its {@code jti}, or every token of a user issued before
+ * the second of the revocation, e.g. on password change; the latter needs the token's {@code
+ * iat}. Each pod follows the stream with non-blocking reads on the shared Redis connection, so a
+ * revocation takes effect within {@code pollInterval} whether the token was cached or verified
+ * locally. At startup the entries of the last {@code maxTokenLifetime} are replayed; after a Redis
+ * outage reading resumes after the last entry seen, as far back as the stream still holds.
+ */
+@Slf4j
+@Component
+@ConditionalOnProperty(prefix = "security.token-revocation", name = "enabled")
+public class TokenRevocationList implements InitializingBean, DisposableBean {
+  private static final String TOKEN_ID_FIELD = "jti";
+  private static final String USER_ID_FIELD = "sub";
+
+  private final ReactiveRedisTemplate<String, String> redis;
+  private final TokenRevocationSettings settings;
+  // Token id to the epoch millis after which the token has expired anyway
+  private final Map<String, Long> revokedTokens = new ConcurrentHashMap<>();
+  // User id to the epoch millis of the revocation, tokens issued up to then are rejected
+  private final Map<String, Long> revokedUsers = new ConcurrentHashMap<>();
+  private volatile RecordId lastSeen;
+  private Disposable subscription;
+
+  public TokenRevocationList(
+      ReactiveRedisTemplate<String, String> redis, TokenRevocationSettings settings) {
+    this.redis = redis;
+    this.settings = settings;
+  }
+
+  @Override
+  public void afterPropertiesSet() {
+    lastSeen =
+        RecordId.of(System.currentTimeMillis() - settings.getMaxTokenLifetime().toMillis(), 0);
+    subscription =
+        Flux.interval(settings.getPollInterval())
+            .onBackpressureDrop()
+            .concatMap(tick -> poll())
+            .subscribe();
+  }
+
+  /** Whether the token of an otherwise valid result has been revoked. */
+  public boolean isRevoked(ValidateTokenResponseDto result) {
+    if (Objects.nonNull(result.getTokenId()) && revokedTokens.containsKey(result.getTokenId())) {
+      return true;
+    }
+    if (Objects.isNull(result.getUser()) || Objects.isNull(result.getUser().getId())) {
+      return false;
+    }
+    Long revokedAt = revokedUsers.get(result.getUser().getId());
+    if (Objects.isNull(revokedAt)) {
+      return false;
+    }
+    if (Objects.isNull(result.getIssuedAt())) {
+      // Opaque tokens carry no issue time, only their own revocation or expiry ends them
+      log.debug("Token of revoked user={} has no issue time", result.getUser().getId());
+      return false;
+    }
+    // iat has second precision, a token issued in the second of the revocation is a new login
+    return result.getIssuedAt().getTime() / 1_000 < revokedAt / 1_000;
+  }
+
+  /** Revokes a single token, {@code expiresAt} bounds how long the revocation is kept. */
+  public Mono<Void> revokeToken(String tokenId, long expiresAt) {
+    return publish(Map.of(TOKEN_ID_FIELD, tokenId, "exp", String.valueOf(expiresAt)));
+  }
+
+  /** Revokes every token of the user issued until now. */
+  public Mono<Void> revokeUser(String userId) {
+    return publish(Map.of(USER_ID_FIELD, userId));
+  }
+
+  private Mono<Void> publish(Map<String, String> fields) {
+    return redis
+        .opsForStream()
+        .add(StreamRecords.newRecord().in(settings.getStreamKey()).ofMap(fields))
+        .then(redis.opsForStream().trim(settings.getStreamKey(), settings.getMaxLength(), true))
+        .then();
+  }
+
+  private Mono<Void> poll() {
+    // Reads until the backlog is drained, a full batch means more entries are waiting
+    return Mono.defer(this::readBatch)
+        .repeat()
+        .takeUntil(read -> read < settings.getBatchSize())
+        .then(Mono.fromRunnable(this::forgetExpired))
+        .onErrorResume(
+            e -> {
+              log.warn("Reading token revocations from {} failed", settings.getStreamKey(), e);
+              return Mono.empty();
+            })
+        .then();
+  }
+
+  private Mono<Integer> readBatch() {
+    // Entries after the last one seen, the exclusive start of XRANGE needs Redis 6.2
+    return redis
+        .opsForStream()
+        .range(
+            settings.getStreamKey(),
+            Range.rightUnbounded(Range.Bound.exclusive(lastSeen.getValue())),
+            Limit.limit().count(settings.getBatchSize()))
+        .doOnNext(this::apply)
+        .count()
+        .map(Long::intValue);
+  }
+
+  private void apply(MapRecord<String, Object, Object> record) {
+    lastSeen = record.getId();
+    Map<Object, Object> fields = record.getValue();
+    Object tokenId = fields.get(TOKEN_ID_FIELD);
+    if (Objects.nonNull(tokenId)) {
+      revokedTokens.put(tokenId.toString(), expiresAt(fields.get("exp")));
+      return;
+    }
+    Object userId = fields.get(USER_ID_FIELD);
+    if (Objects.nonNull(userId)) {
+      // Stream ids start with the epoch millis the entry was added at
+      revokedUsers.merge(userId.toString(), record.getId().getTimestamp(), Math::max);
+      return;
+    }
+    log.warn("Ignoring malformed token revocation id={}", record.getId());
+  }
+
+  private long expiresAt(Object exp) {
+    try {
+      return Long.parseLong(String.valueOf(exp));
+    } catch (NumberFormatException e) {
+      return System.currentTimeMillis() + settings.getMaxTokenLifetime().toMillis();
+    }
+  }
+
+  private void forgetExpired() {
+    long now = System.currentTimeMillis();
+    long oldestLiveIssue = now - settings.getMaxTokenLifetime().toMillis();
+    revokedTokens.values().removeIf(expiresAt -> expiresAt <= now);
+    revokedUsers.values().removeIf(revokedAt -> revokedAt <= oldestLiveIssue);
+  }
+
+  @Override
+  public void destroy() {
+    if (Objects.nonNull(subscription)) {
+      subscription.dispose();
+    }
+  }
+}
@@ -0,0 +1,177 @@
+package com.backend.core.security;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.time.Duration;
+import java.util.HexFormat;
+import java.util.Objects;
+import java.util.function.Function;
+
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.data.redis.core.ReactiveRedisTemplate;
+import org.springframework.stereotype.Component;
+
+import com.backend.core.cache.CacheEventBus;
+import com.backend.core.cache.ReactiveCacheTemplate;
+import com.backend.core.dtos.ValidateTokenResponseDto;
+import com.backend.core.security.settings.TokenValidationSettings;
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.Expiry;
+
+import lombok.extern.slf4j.Slf4j;
+import reactor.core.Disposable;
+import reactor.core.publisher.Mono;
+
+/**
+ * Caches token validation results, keyed by the SHA-256 of the token so raw tokens are never
+ * stored.
+ *
+ * <p>Valid results live until the token expires, capped at {@code maxTtl}; rejected ones for
+ * {@code invalidTtl}. Results are kept in-process, and with {@code sharedCache} in Redis as well so
+ * a token validated by one pod is not validated again by the others; rejections are stored there
+ * as tombstones. A result read after the token expired is treated as rejected. Purges are
+ * broadcast on the {@link CacheEventBus} so every pod drops its in-process copy.
+ */
+@Slf4j
+@Component
+public class TokenValidationCache implements DisposableBean {
+  private static final String KEY_PREFIX = "auth:token:";
+  private static final String PURGE_CHANNEL = "auth:token:purge";
+  private static final ValidateTokenResponseDto REJECTED =
+      ValidateTokenResponseDto.builder().valid(false).build();
+
+  private final TokenValidationSettings settings;
+  private final Cache<String, ValidateTokenResponseDto> local;
+  // Null without the shared tier
+  private final ReactiveCacheTemplate<ValidateTokenResponseDto> shared;
+  // Null without an event bus, purges then only reach this pod and Redis
+  private final CacheEventBus eventBus;
+  private final Disposable purgeListener;
+
+  public TokenValidationCache(
+      TokenValidationSettings settings,
+      ObjectMapper objectMapper,
+      ObjectProvider<ReactiveRedisTemplate<String, byte[]>> reactiveBytesRedisTemplate,
+      ObjectProvider<CacheEventBus> cacheEventBus) {
+    this.settings = settings;
+    this.eventBus = cacheEventBus.getIfAvailable();
+    this.local =
+        Caffeine.newBuilder()
+            .maximumSize(settings.getMaxSize())
+            .expireAfter(new ResultExpiry())
+            .build();
+    this.shared =
+        settings.isSharedCache()
+            ? ReactiveCacheTemplate.<ValidateTokenResponseDto>builder()
+                .redis(reactiveBytesRedisTemplate.getObject())
+                .mapper(objectMapper)
+                .keyPrefix(KEY_PREFIX)
+                .ttl(settings.getMaxTtl())
+                .negativeTtl(settings.getInvalidTtl())
+                .type(new TypeReference<>() {})
+                .eventBus(eventBus)
+                .build()
+            : null;
+    this.purgeListener =
+        Objects.isNull(eventBus)
+            ? null
+            : eventBus
+                .listenForever(PURGE_CHANNEL, local::invalidateAll)
+                .subscribe(local::invalidate);
+  }
+
+  /** Returns the cached result for the token, or the one {@code validator} produced. */
+  public Mono<ValidateTokenResponseDto> get(
+      String token, Function<String, Mono<ValidateTokenResponseDto>> validator) {
+    String hash = hash(token);
+    ValidateTokenResponseDto cached = local.getIfPresent(hash);
+    if (Objects.nonNull(cached)) {
+      return Mono.just(unlessExpired(cached));
+    }
+
+    // Rejections reach the shared tier as empty loads, stored as tombstones living invalidTtl
+    Mono<ValidateTokenResponseDto> result =
+        Objects.isNull(shared)
+            ? validator.apply(token)
+            : shared
+                .get(
+                    hash,
+                    tokenHash -> validator.apply(token).filter(ValidateTokenResponseDto::isValid))
+                .defaultIfEmpty(REJECTED);
+    return result.doOnNext(validated -> local.put(hash, validated)).map(this::unlessExpired);
+  }
+
+  /** Drops the token from every tier of every pod, e.g. on logout or revocation. */
+  public Mono<Void> purge(String token) {
+    String hash = hash(token);
+    local.invalidate(hash);
+    Mono<Void> others =
+        Objects.isNull(eventBus) ? Mono.empty() : eventBus.publish(PURGE_CHANNEL, hash).then();
+    return Objects.isNull(shared) ? others : shared.evict(hash).then(others);
+  }
+
+  private ValidateTokenResponseDto unlessExpired(ValidateTokenResponseDto result) {
+    if (result.isValid()
+        && Objects.nonNull(result.getExpiresAt())
+        && result.getExpiresAt().getTime() <= System.currentTimeMillis()) {
+      return REJECTED;
+    }
+    return result;
+  }
+
+  private Duration ttlOf(ValidateTokenResponseDto result) {
+    if (!result.isValid()) {
+      return settings.getInvalidTtl();
+    }
+    if (Objects.isNull(result.getExpiresAt())) {
+      return settings.getMaxTtl();
+    }
+    long untilExpiry = result.getExpiresAt().getTime() - System.currentTimeMillis();
+    return Duration.ofMillis(Math.max(0, Math.min(untilExpiry, settings.getMaxTtl().toMillis())));
+  }
+
+  @Override
+  public void destroy() {
+    if (Objects.nonNull(purgeListener)) {
+      purgeListener.dispose();
+    }
+    if (Objects.nonNull(shared)) {
+      shared.close();
+    }
+  }
+
+  // Every write, including a replaced result, lives as long as the new result allows
+  private class ResultExpiry implements Expiry<String, ValidateTokenResponseDto> {
+    @Override
+    public long expireAfterCreate(String hash, ValidateTokenResponseDto result, long currentTime) {
+      return ttlOf(result).toNanos();
+    }
+
+    @Override
+    public long expireAfterUpdate(
+        String hash, ValidateTokenResponseDto result, long currentTime, long currentDuration) {
+      return ttlOf(result).toNanos();
+    }
+
+    @Override
+    public long expireAfterRead(
+        String hash, ValidateTokenResponseDto result, long currentTime, long currentDuration) {
+      return currentDuration;
+    }
+  }
+
+  private static String hash(String token) {
+    try {
+      MessageDigest digest = MessageDigest.getInstance("SHA-256");
+      return HexFormat.of().formatHex(digest.digest(token.getBytes(StandardCharsets.UTF_8)));
+    } catch (NoSuchAlgorithmException e) {
+      // Every JVM ships SHA-256
+      throw new IllegalStateException(e);
+    }
+  }
+}
@@ -0,0 +1,114 @@
+package com.backend.core.security;
+
+import java.io.IOException;
+import java.util.Base64;
+import java.util.Date;
+import java.util.Objects;
+
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.stereotype.Service;
+
+import com.backend.core.dtos.ValidateTokenRequestDto;
+import com.backend.core.dtos.ValidateTokenResponseDto;
+import com.backend.core.security.settings.TokenValidationSettings;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import reactor.core.publisher.Mono;
+
+/**
+ * Validates bearer tokens. With local verification users-management is only asked to confirm
+ * tokens that verified locally, and only when revocations must be honoured; otherwise it is asked
+ * for every token not seen recently. Followed revocations are applied on top of either, so a
+ * revoked token is rejected even while its validation is cached.
+ */
+@Service
+public class TokenValidationService {
+  private static final ValidateTokenResponseDto REVOKED =
+      ValidateTokenResponseDto.builder().valid(false).build();
+
+  private final UserClient userClient;
+  private final TokenValidationCache tokenValidationCache;
+  private final TokenValidationSettings settings;
+  // Null unless local verification is on
+  private final LocalJwtVerifier localJwtVerifier;
+  // Null unless revocations are followed
+  private final TokenRevocationList tokenRevocationList;
+  private final ObjectMapper objectMapper;
+
+  public TokenValidationService(
+      UserClient userClient,
+      TokenValidationCache tokenValidationCache,
+      TokenValidationSettings settings,
+      ObjectProvider<LocalJwtVerifier> localJwtVerifier,
+      ObjectProvider<TokenRevocationList> tokenRevocationList,
+      ObjectMapper objectMapper) {
+    this.userClient = userClient;
+    this.tokenValidationCache = tokenValidationCache;
+    this.settings = settings;
+    this.localJwtVerifier = localJwtVerifier.getIfAvailable();
+    this.tokenRevocationList = tokenRevocationList.getIfAvailable();
+    this.objectMapper = objectMapper;
+  }
+
+  public Mono<ValidateTokenResponseDto> validate(String token) {
+    Mono<ValidateTokenResponseDto> result =
+        Objects.isNull(localJwtVerifier) ? validateRemotely(token) : validateLocally(token);
+    if (Objects.isNull(tokenRevocationList)) {
+      return result;
+    }
+    return result.map(
+        validated ->
+            validated.isValid() && tokenRevocationList.isRevoked(validated) ? REVOKED : validated);
+  }
+
+  private Mono<ValidateTokenResponseDto> validateLocally(String token) {
+    return localJwtVerifier
+        .verify(token)
+        .flatMap(
+            verified ->
+                verified.isValid() && settings.isRemoteRevocationCheck()
+                    ? validateRemotely(token)
+                    : Mono.just(verified));
+  }
+
+  private Mono<ValidateTokenResponseDto> validateRemotely(String token) {
+    return tokenValidationCache.get(
+        token,
+        t -> userClient.validateToken(new ValidateTokenRequestDto(t)).map(r -> withClaims(t, r)));
+  }
+
+  // Revocations need jti and iat, read from the token when users-management does not return them
+  private ValidateTokenResponseDto withClaims(String token, ValidateTokenResponseDto result) {
+    if (!result.isValid()
+        || (Objects.nonNull(result.getTokenId()) && Objects.nonNull(result.getIssuedAt()))) {
+      return result;
+    }
+    JsonNode claims = readClaims(token);
+    if (Objects.isNull(claims)) {
+      return result;
+    }
+    if (Objects.isNull(result.getTokenId()) && claims.hasNonNull("jti")) {
+      result.setTokenId(claims.get("jti").asText());
+    }
+    if (Objects.isNull(result.getIssuedAt()) && claims.path("iat").canConvertToLong()) {
+      result.setIssuedAt(new Date(claims.get("iat").asLong() * 1_000));
+    }
+    return result;
+  }
+
+  // Not verified here, users-management just confirmed the token
+  private JsonNode readClaims(String token) {
+    int payloadStart = token.indexOf('.') + 1;
+    int payloadEnd = token.indexOf('.', payloadStart);
+    if (payloadStart <= 0 || payloadEnd < 0) {
+      return null;
+    }
+    try {
+      return objectMapper.readTree(
+          Base64.getUrlDecoder().decode(token.substring(payloadStart, payloadEnd)));
+    } catch (IOException | IllegalArgumentException e) {
+      return null;
+    }
+  }
+}
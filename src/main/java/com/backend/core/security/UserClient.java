@@ -1,25 +1,92 @@
 package com.backend.core.security;
 
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+
+import org.springframework.beans.factory.DisposableBean;
 import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.client.reactive.ReactorClientHttpConnector;
 import org.springframework.stereotype.Component;
 import org.springframework.web.reactive.function.client.WebClient;
 
 import com.backend.core.dtos.ValidateTokenRequestDto;
 import com.backend.core.dtos.ValidateTokenResponseDto;
+import com.backend.core.resilience.CircuitBreaker;
+import com.backend.core.resilience.Hedging;
+import com.backend.core.resilience.HedgingSettings;
+import com.backend.core.security.settings.UserClientSettings;
 
+import io.netty.channel.ChannelOption;
 import reactor.core.publisher.Mono;
+import reactor.netty.http.HttpProtocol;
+import reactor.netty.http.client.HttpClient;
+import reactor.netty.resources.ConnectionProvider;
 
+/**
+ * Client of users-management with its own connection pool and timeouts, behind a circuit breaker
+ * so a slow users-management fails requests fast instead of piling them up. Slow validations can
+ * be hedged with a second request, which the load balancer routes to another instance. Over
+ * HTTP/2 both requests would share one connection, and so one instance, so hedging is off then.
+ */
 @Component
-public class UserClient {
+public class UserClient implements DisposableBean {
+  private static final String NAME = "users-management";
+
   private final WebClient webClient;
+  private final ConnectionProvider connectionProvider;
+  private final CircuitBreaker circuitBreaker;
+  private final Hedging hedging;
+  // Parallel requests carrying the same token share one validation call
+  private final ConcurrentMap<String, Mono<ValidateTokenResponseDto>> inFlightValidations =
+      new ConcurrentHashMap<>();
 
   public UserClient(
       WebClient.Builder webClientBuilder,
-      @Value("${services.users-management.url:http://localhost:8090}") String usersManagementUrl) {
-    this.webClient = webClientBuilder.baseUrl(usersManagementUrl).build();
+      @Value("${services.users-management.url:http://localhost:8090}") String usersManagementUrl,
+      UserClientSettings settings) {
+    this.connectionProvider =
+        ConnectionProvider.builder(NAME)
+            .maxConnections(settings.getMaxConnections())
+            .pendingAcquireMaxCount(settings.getPendingAcquireMaxCount())
+            .pendingAcquireTimeout(settings.getPendingAcquireTimeout())
+            .maxIdleTime(settings.getMaxIdleTime())
+            .maxLifeTime(settings.getMaxLifeTime())
+            .evictInBackground(settings.getEvictInBackground())
+            .build();
+    HttpClient httpClient =
+        HttpClient.create(connectionProvider)
+            .option(
+                ChannelOption.CONNECT_TIMEOUT_MILLIS, (int) settings.getConnectTimeout().toMillis())
+            .responseTimeout(settings.getResponseTimeout());
+    if (settings.isHttp2()) {
+      HttpProtocol http2 =
+          usersManagementUrl.startsWith("https") ? HttpProtocol.H2 : HttpProtocol.H2C;
+      httpClient = httpClient.protocol(http2, HttpProtocol.HTTP11);
+    }
+    this.webClient =
+        webClientBuilder
+            .baseUrl(usersManagementUrl)
+            .clientConnector(new ReactorClientHttpConnector(httpClient))
+            .build();
+    this.circuitBreaker = new CircuitBreaker(NAME, settings.getCircuitBreaker());
+    this.hedging = new Hedging(settings.isHttp2() ? new HedgingSettings() : settings.getHedging());
   }
 
   public Mono<ValidateTokenResponseDto> validateToken(ValidateTokenRequestDto request) {
+    String token = request.getToken();
+    // cache() replays the single call to every subscriber, the entry is dropped once it terminates
+    return Mono.defer(
+        () ->
+            inFlightValidations.computeIfAbsent(
+                token,
+                t ->
+                    circuitBreaker
+                        .protect(hedging.hedge(() -> callValidateToken(request)))
+                        .doFinally(signal -> inFlightValidations.remove(t))
+                        .cache()));
+  }
+
+  private Mono<ValidateTokenResponseDto> callValidateToken(ValidateTokenRequestDto request) {
     return webClient
         .post()
         .uri("/v1/api/auth/validate-token")
@@ -27,4 +94,9 @@ public class UserClient {
         .retrieve()
         .bodyToMono(ValidateTokenResponseDto.class);
   }
+
+  @Override
+  public void destroy() {
+    connectionProvider.dispose();
+  }
 }
@@ -0,0 +1,20 @@
+package com.backend.core.security.settings;
+
+import java.time.Duration;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.context.annotation.Configuration;
+
+import com.backend.core.cache.near.NearCacheSettings;
+
+import lombok.Data;
+
+@Data
+@Configuration
+@ConfigurationProperties(prefix = "security.authorization")
+public class AuthorizationSettings {
+  // How long memberships are cached in Redis, changes should be evicted explicitly
+  private Duration membershipTtl = Duration.ofMinutes(5);
+  // In-process tier, so the checks of one request load the memberships only once
+  private NearCacheSettings nearCache = new NearCacheSettings();
+}
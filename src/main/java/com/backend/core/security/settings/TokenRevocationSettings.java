@@ -0,0 +1,24 @@
+package com.backend.core.security.settings;
+
+import java.time.Duration;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.context.annotation.Configuration;
+
+import lombok.Data;
+
+@Data
+@Configuration
+@ConfigurationProperties(prefix = "security.token-revocation")
+public class TokenRevocationSettings {
+  // Follows the revocation stream and rejects revoked tokens, even cached or verified locally
+  private boolean enabled;
+  private String streamKey = "auth:revocations";
+  // Longest delay between a revocation and the pods rejecting the token
+  private Duration pollInterval = Duration.ofMillis(500);
+  private int batchSize = 500;
+  // Entries kept in the stream, bounds the backlog replayed after an outage
+  private long maxLength = 100_000;
+  // No token lives longer, older revocations are neither replayed nor kept in memory
+  private Duration maxTokenLifetime = Duration.ofHours(24);
+}
@@ -0,0 +1,33 @@
+package com.backend.core.security.settings;
+
+import java.time.Duration;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.context.annotation.Configuration;
+
+import lombok.Data;
+
+@Data
+@Configuration
+@ConfigurationProperties(prefix = "security.token-validation")
+public class TokenValidationSettings {
+  // Valid tokens are cached until they expire, but never longer than this
+  private Duration maxTtl = Duration.ofMinutes(5);
+  // Rejected tokens are cached briefly so replaying one does not reach users-management every time
+  private Duration invalidTtl = Duration.ofSeconds(30);
+  private long maxSize = 100_000;
+  // Shares validations between pods through Redis, on top of the in-process tier
+  private boolean sharedCache;
+
+  // Verifies signature, expiry and issuer in-process against the keys users-management publishes
+  private boolean localVerification;
+  // Locally verified tokens are still checked remotely, only needed to honour revocations
+  private boolean remoteRevocationCheck;
+  private String jwksPath = "/v1/api/auth/jwks";
+  private Duration jwksRefresh = Duration.ofMinutes(10);
+  // Shortest gap between refetches triggered by tokens signed with an unknown key
+  private Duration jwksMinRefetch = Duration.ofSeconds(30);
+  private Duration allowedClockSkew = Duration.ofSeconds(30);
+  // Required "iss" claim, not checked when blank
+  private String issuer;
+}
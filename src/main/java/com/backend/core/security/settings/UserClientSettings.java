@@ -0,0 +1,32 @@
+package com.backend.core.security.settings;
+
+import java.time.Duration;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.context.annotation.Configuration;
+
+import com.backend.core.resilience.CircuitBreakerSettings;
+import com.backend.core.resilience.HedgingSettings;
+
+import lombok.Data;
+
+@Data
+@Configuration
+@ConfigurationProperties(prefix = "services.users-management.client")
+public class UserClientSettings {
+  private int maxConnections = 100;
+  // Requests waiting for a free connection, further ones fail right away
+  private int pendingAcquireMaxCount = 1_000;
+  private Duration pendingAcquireTimeout = Duration.ofSeconds(1);
+  // Closed before the server or a load balancer drops them under an in-flight request
+  private Duration maxIdleTime = Duration.ofSeconds(30);
+  private Duration maxLifeTime = Duration.ofMinutes(5);
+  private Duration evictInBackground = Duration.ofSeconds(30);
+  private Duration connectTimeout = Duration.ofMillis(500);
+  private Duration responseTimeout = Duration.ofSeconds(2);
+  // Multiplexes requests over few connections, falls back to HTTP/1.1 when not supported
+  private boolean http2;
+  private CircuitBreakerSettings circuitBreaker = new CircuitBreakerSettings();
+  // Ignored with http2, a hedge would go over the same connection to the same instance
+  private HedgingSettings hedging = new HedgingSettings();
+}
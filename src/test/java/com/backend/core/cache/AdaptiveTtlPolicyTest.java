@@ -0,0 +1,70 @@
+package com.backend.core.cache;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.time.Duration;
+
+import org.junit.jupiter.api.Test;
+
+class AdaptiveTtlPolicyTest {
+  private static final Duration BASE_TTL = Duration.ofSeconds(100);
+
+  private final AdaptiveTtlPolicy policy =
+      new AdaptiveTtlPolicy(BASE_TTL, AdaptiveTtlSettings.builder().build());
+
+  @Test
+  void keyWithoutStatsKeepsBaseTtl() {
+    assertThat(policy.ttlFor("unknown")).isEqualTo(BASE_TTL);
+  }
+
+  @Test
+  void freshlyLoadedKeyKeepsBaseTtl() {
+    // get() records the read before the miss is loaded and stored
+    policy.recordRead("fresh");
+
+    assertThat(policy.ttlFor("fresh")).isEqualTo(BASE_TTL);
+  }
+
+  @Test
+  void neverInvalidatedKeyIsNeverShortened() {
+    AdaptiveTtlPolicy eager =
+        new AdaptiveTtlPolicy(BASE_TTL, AdaptiveTtlSettings.builder().minSamples(5).build());
+    for (int i = 0; i < 5; i++) {
+      eager.recordRead("cold");
+    }
+
+    assertThat(eager.ttlFor("cold")).isEqualTo(BASE_TTL);
+  }
+
+  @Test
+  void readMostlyKeyLivesLonger() {
+    for (int i = 0; i < 40; i++) {
+      policy.recordRead("hot");
+    }
+
+    assertThat(policy.ttlFor("hot")).isEqualTo(BASE_TTL.multipliedBy(2));
+  }
+
+  @Test
+  void frequentlyInvalidatedKeyLivesShorter() {
+    for (int i = 0; i < 20; i++) {
+      policy.recordRead("volatile");
+      policy.recordInvalidation("volatile");
+    }
+
+    assertThat(policy.ttlFor("volatile")).isLessThan(BASE_TTL);
+  }
+
+  @Test
+  void ttlStaysWithinBounds() {
+    for (int i = 0; i < 100_000; i++) {
+      policy.recordRead("hottest");
+    }
+    for (int i = 0; i < 100; i++) {
+      policy.recordInvalidation("churning");
+    }
+
+    assertThat(policy.ttlFor("hottest")).isEqualTo(BASE_TTL.multipliedBy(4));
+    assertThat(policy.ttlFor("churning")).isEqualTo(BASE_TTL.dividedBy(4));
+  }
+}
@@ -0,0 +1,121 @@
+package com.backend.core.cache.bloom;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+import java.time.Duration;
+import java.util.Set;
+import java.util.concurrent.ConcurrentSkipListSet;
+import java.util.stream.IntStream;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.data.redis.core.ReactiveRedisTemplate;
+import org.springframework.data.redis.core.ReactiveValueOperations;
+
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+class BloomFilterTest {
+  private static final BloomFilterSettings SETTINGS =
+      BloomFilterSettings.builder()
+          .expectedInsertions(1_000)
+          .falsePositiveRate(0.01)
+          .snapshotRefresh(Duration.ofHours(1))
+          .build();
+
+  // Offsets set with SETBIT, the bitmap Redis would hold
+  private final Set<Long> redisBits = new ConcurrentSkipListSet<>();
+  private BloomFilter writer;
+  private BloomFilter reader;
+
+  @AfterEach
+  void close() {
+    if (writer != null) {
+      writer.close();
+    }
+    if (reader != null) {
+      reader.close();
+    }
+  }
+
+  @SuppressWarnings("unchecked")
+  private ReactiveRedisTemplate<String, byte[]> redis(boolean seeded, byte[] bitmap) {
+    ReactiveRedisTemplate<String, byte[]> redis = mock(ReactiveRedisTemplate.class);
+    ReactiveValueOperations<String, byte[]> values = mock(ReactiveValueOperations.class);
+    when(redis.opsForValue()).thenReturn(values);
+    when(redis.hasKey(anyString())).thenReturn(Mono.just(seeded));
+    when(values.get(anyString())).thenReturn(Mono.justOrEmpty(bitmap));
+    when(values.set(anyString(), any(byte[].class))).thenReturn(Mono.just(true));
+    when(values.setBit(anyString(), anyLong(), eq(true)))
+        .thenAnswer(
+            invocation -> {
+              redisBits.add(invocation.getArgument(1));
+              return Mono.just(false);
+            });
+    return redis;
+  }
+
+  // Redis numbers the bits of a byte from the most significant one
+  private byte[] redisBitmap() {
+    long highest = redisBits.stream().mapToLong(Long::longValue).max().orElse(0);
+    byte[] bitmap = new byte[(int) (highest / Byte.SIZE) + 1];
+    for (long offset : redisBits) {
+      bitmap[(int) (offset / Byte.SIZE)] |= (byte) (0x80 >>> (offset % Byte.SIZE));
+    }
+    return bitmap;
+  }
+
+  @Test
+  void letsEverythingThroughUntilSeeded() {
+    writer = new BloomFilter("users", SETTINGS, redis(false, null), null);
+    writer.add("1").block();
+
+    assertThat(writer.mightContain("1")).isTrue();
+    assertThat(writer.mightContain("never-added")).isTrue();
+  }
+
+  @Test
+  void rejectsIdsNeverAddedOnceSeeded() {
+    writer = new BloomFilter("users", SETTINGS, redis(true, null), null);
+    writer.seed(Flux.just("1", "2", "3")).block();
+
+    assertThat(writer.mightContain("1")).isTrue();
+    assertThat(writer.mightContain("2")).isTrue();
+    assertThat(writer.mightContain("3")).isTrue();
+    long falsePositives =
+        IntStream.range(1_000, 2_000).filter(id -> writer.mightContain(String.valueOf(id))).count();
+    assertThat(falsePositives).isLessThan(50);
+  }
+
+  @Test
+  void snapshotOfRedisBitmapHoldsIdsAddedByOtherPods() {
+    writer = new BloomFilter("users", SETTINGS, redis(false, null), null);
+    IntStream.range(0, 200).forEach(id -> writer.add(String.valueOf(id)).block());
+
+    reader = new BloomFilter("users", SETTINGS, redis(true, redisBitmap()), null);
+    reader.seed(Flux.empty()).block();
+
+    assertThat(IntStream.range(0, 200).allMatch(id -> reader.mightContain(String.valueOf(id))))
+        .isTrue();
+    long falsePositives =
+        IntStream.range(10_000, 11_000)
+            .filter(id -> reader.mightContain(String.valueOf(id)))
+            .count();
+    assertThat(falsePositives).isLessThan(100);
+  }
+
+  @Test
+  void mergeKeepsLocalAdditionsMissingFromSnapshot() {
+    reader = new BloomFilter("users", SETTINGS, redis(true, new byte[0]), null);
+    reader.add("local").block();
+    reader.seed(Flux.empty()).block();
+
+    assertThat(reader.mightContain("local")).isTrue();
+  }
+}
@@ -0,0 +1,101 @@
+package com.backend.core.resilience;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.time.Duration;
+
+import org.junit.jupiter.api.Test;
+
+import com.backend.core.exceptions.CircuitBreakerOpenException;
+
+import reactor.core.publisher.Mono;
+import reactor.test.StepVerifier;
+
+class CircuitBreakerTest {
+
+  private static CircuitBreaker circuitBreaker(Duration openDuration) {
+    return new CircuitBreaker(
+        "test",
+        CircuitBreakerSettings.builder()
+            .failureRateThreshold(0.5)
+            .slidingWindowSize(4)
+            .minimumCalls(4)
+            .openDuration(openDuration)
+            .halfOpenProbes(2)
+            .build());
+  }
+
+  private static void open(CircuitBreaker circuitBreaker) {
+    circuitBreaker.onSuccess();
+    circuitBreaker.onSuccess();
+    circuitBreaker.onError();
+    circuitBreaker.onError();
+  }
+
+  @Test
+  void staysClosedBelowMinimumCalls() {
+    CircuitBreaker circuitBreaker = circuitBreaker(Duration.ofHours(1));
+    circuitBreaker.onError();
+    circuitBreaker.onError();
+    circuitBreaker.onError();
+
+    assertThat(circuitBreaker.getState()).isEqualTo(CircuitBreaker.State.CLOSED);
+  }
+
+  @Test
+  void opensOnceFailureRateIsReached() {
+    CircuitBreaker circuitBreaker = circuitBreaker(Duration.ofHours(1));
+    open(circuitBreaker);
+
+    assertThat(circuitBreaker.getState()).isEqualTo(CircuitBreaker.State.OPEN);
+    assertThat(circuitBreaker.tryAcquirePermission()).isFalse();
+  }
+
+  @Test
+  void openCircuitFailsCallsFast() {
+    CircuitBreaker circuitBreaker = circuitBreaker(Duration.ofHours(1));
+    open(circuitBreaker);
+
+    StepVerifier.create(circuitBreaker.protect(Mono.just("value")))
+        .expectError(CircuitBreakerOpenException.class)
+        .verify();
+  }
+
+  @Test
+  void closesOnceAllProbesSucceed() {
+    CircuitBreaker circuitBreaker = circuitBreaker(Duration.ZERO);
+    open(circuitBreaker);
+
+    assertThat(circuitBreaker.tryAcquirePermission()).isTrue();
+    assertThat(circuitBreaker.getState()).isEqualTo(CircuitBreaker.State.HALF_OPEN);
+    assertThat(circuitBreaker.tryAcquirePermission()).isTrue();
+    assertThat(circuitBreaker.tryAcquirePermission()).isFalse();
+    circuitBreaker.onSuccess();
+    circuitBreaker.onSuccess();
+
+    assertThat(circuitBreaker.getState()).isEqualTo(CircuitBreaker.State.CLOSED);
+  }
+
+  @Test
+  void reopensOnFailedProbe() {
+    CircuitBreaker circuitBreaker = circuitBreaker(Duration.ZERO);
+    open(circuitBreaker);
+    circuitBreaker.tryAcquirePermission();
+    circuitBreaker.onError();
+
+    assertThat(circuitBreaker.getState()).isEqualTo(CircuitBreaker.State.OPEN);
+  }
+
+  @Test
+  void lateFailuresDoNotExtendOpenWindow() throws InterruptedException {
+    CircuitBreaker circuitBreaker = circuitBreaker(Duration.ofMillis(300));
+    open(circuitBreaker);
+    Thread.sleep(200);
+    // A call let through before the circuit opened fails now
+    circuitBreaker.onError();
+    Thread.sleep(150);
+
+    assertThat(circuitBreaker.tryAcquirePermission()).isTrue();
+    assertThat(circuitBreaker.getState()).isEqualTo(CircuitBreaker.State.HALF_OPEN);
+  }
+}